@@ -19,9 +19,11 @@ import com.arenawars.ctf.listeners.PlayerListener;
 import com.arenawars.ctf.listeners.BlockListener;
 import com.arenawars.ctf.managers.*;
 import com.arenawars.ctf.storage.ConfigManager;
+import com.arenawars.ctf.storage.PluginSettings;
 import com.arenawars.ctf.utils.MessageUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
 
 public final class ArenaWarsCTF extends JavaPlugin {
     
@@ -41,6 +43,9 @@ public final class ArenaWarsCTF extends JavaPlugin {
     private ChatManager chatManager;
     private TabListManager tabListManager;
     private MessageUtil messageUtil;
+    private KitManager kitManager;
+    
+    private BukkitTask displayTask;
     
     @Override
     public void onEnable() {
@@ -87,8 +92,9 @@ public final class ArenaWarsCTF extends JavaPlugin {
             arenaManager.saveAllArenas();
         }
         
+        // Flush pending stats and wait (bounded) for the I/O thread
         if (playerManager != null) {
-            playerManager.saveAllPlayerData();
+            playerManager.shutdown();
         }
         
         getLogger().info("ArenaWarsCTF has been disabled successfully!");
@@ -101,6 +107,7 @@ public final class ArenaWarsCTF extends JavaPlugin {
         arenaManager = new ArenaManager(this);
         playerManager = new PlayerManager(this);
         xpManager = new XPManager(this);
+        kitManager = new KitManager(this);
         mvpManager = new MVPManager(this);
         respawnManager = new RespawnManager(this);
         scoreboardManager = new ScoreboardManager(this);
@@ -120,6 +127,7 @@ public final class ArenaWarsCTF extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(new GameListener(this), this);
         Bukkit.getPluginManager().registerEvents(new BlockListener(this), this);
         Bukkit.getPluginManager().registerEvents(chatManager, this);
+        Bukkit.getPluginManager().registerEvents(gameManager.getBroadcasts(), this);
     }
     
     private void startTasks() {
@@ -128,13 +136,43 @@ public final class ArenaWarsCTF extends JavaPlugin {
             gameManager.updateAllGames();
         }, 20L, 20L);
         
-        // Scoreboard update task (every 2 seconds)
-        Bukkit.getScheduler().runTaskTimer(this, () -> {
+        scheduleDisplayUpdates();
+    }
+    
+    /**
+     * (Re)starts the scoreboard, lobby and tab list refresh at settings.scoreboard-update-interval.
+     */
+    public void scheduleDisplayUpdates() {
+        if (displayTask != null) {
+            displayTask.cancel();
+        }
+        
+        long interval = configManager.getScoreboardUpdateInterval() * 20L;
+        displayTask = Bukkit.getScheduler().runTaskTimer(this, () -> {
             scoreboardManager.updateAllScoreboards();
             lobbyManager.updateAllLobbyScoreboards();
-            tabListManager.updateAllTabLists();
             tabListManager.updateAllTabListHeaders();
-        }, 40L, 40L);
+        }, interval, interval);
+    }
+    
+    /**
+     * Logs a game event when debug.enabled and debug.log-game-events are set.
+     */
+    public void logGameEvent(String message) {
+        PluginSettings settings = configManager.getSettings();
+        if (settings.debugEnabled() && settings.logGameEvents()) {
+            getLogger().info("[Debug] " + message);
+        }
+    }
+    
+    /**
+     * Logs a player action when debug.enabled and debug.log-player-actions are set.
+     */
+    public void logPlayerAction(String message) {
+        PluginSettings settings = configManager.getSettings();
+        if (settings.debugEnabled() && settings.logPlayerActions()) {
+            getLogger().info("[Debug] " + message);
+        }
     }
     
     // Getters
@@ -193,4 +231,8 @@ public final class ArenaWarsCTF extends JavaPlugin {
     public TabListManager getTabListManager() {
         return tabListManager;
     }
+    
+    public KitManager getKitManager() {
+        return kitManager;
+    }
 }
\ No newline at end of file
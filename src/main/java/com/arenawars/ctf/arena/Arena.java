@@ -35,6 +35,7 @@ public class Arena {
     // Arena bounds for cleanup
     private Location corner1;
     private Location corner2;
+    private int[] bounds; // minX, minY, minZ, maxX, maxY, maxZ; compiled from the corners on first use
     
     // Settings
     private int maxPlayers;
@@ -197,6 +198,27 @@ public class Arena {
                corner2 != null;
     }
     
+    /**
+     * Checks whether a block lies inside the arena bounds (both corners inclusive).
+     * The world is not checked, see ArenaManager#getArenaAt.
+     */
+    public boolean contains(int x, int y, int z) {
+        if (bounds == null) {
+            if (corner1 == null || corner2 == null) return false;
+            bounds = new int[] {
+                Math.min(corner1.getBlockX(), corner2.getBlockX()),
+                Math.min(corner1.getBlockY(), corner2.getBlockY()),
+                Math.min(corner1.getBlockZ(), corner2.getBlockZ()),
+                Math.max(corner1.getBlockX(), corner2.getBlockX()),
+                Math.max(corner1.getBlockY(), corner2.getBlockY()),
+                Math.max(corner1.getBlockZ(), corner2.getBlockZ())
+            };
+        }
+        
+        return x >= bounds[0] && y >= bounds[1] && z >= bounds[2]
+            && x <= bounds[3] && y <= bounds[4] && z <= bounds[5];
+    }
+    
     public boolean isWorldValid() {
         return worldName != null && org.bukkit.Bukkit.getWorld(worldName) != null;
     }
@@ -262,10 +284,10 @@ public class Arena {
     public void setBlueFlagReturn(Location blueFlagReturn) { this.blueFlagReturn = blueFlagReturn; }
     
     public Location getCorner1() { return corner1; }
-    public void setCorner1(Location corner1) { this.corner1 = corner1; }
+    public void setCorner1(Location corner1) { this.corner1 = corner1; this.bounds = null; }
     
     public Location getCorner2() { return corner2; }
-    public void setCorner2(Location corner2) { this.corner2 = corner2; }
+    public void setCorner2(Location corner2) { this.corner2 = corner2; this.bounds = null; }
     
     public int getMaxPlayers() { return maxPlayers; }
     public void setMaxPlayers(int maxPlayers) { this.maxPlayers = maxPlayers; }
@@ -229,6 +229,10 @@ public class CTFAdminCommand implements CommandExecutor, TabCompleter {
     
     private boolean handleReload(CommandSender sender, String[] args) {
         plugin.getConfigManager().reloadConfigs();
+        plugin.getMessageUtil().reloadMessages();
+        plugin.getKitManager().reloadKits();
+        plugin.getChatManager().refreshAllProfiles();
+        plugin.scheduleDisplayUpdates();
         plugin.getArenaManager().reloadArenas();
         
         plugin.getMessageUtil().sendMessage((Player) sender, "general.reload-success");
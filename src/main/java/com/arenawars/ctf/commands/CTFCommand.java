@@ -8,6 +8,10 @@ package com.arenawars.ctf.commands;
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.arena.Arena;
 import com.arenawars.ctf.managers.PlayerManager;
+import com.arenawars.ctf.storage.LeaderboardStat;
+import com.arenawars.ctf.storage.Leaderboards;
+import com.arenawars.ctf.storage.PluginSettings;
+import com.arenawars.ctf.storage.RankedIndex;
 import com.arenawars.ctf.utils.MessageUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -25,12 +29,19 @@ public class CTFCommand implements CommandExecutor, TabCompleter {
     
     private final ArenaWarsCTF plugin;
     
+    private static final int LEADERBOARD_PAGE_SIZE = 10;
+    
     public CTFCommand(ArenaWarsCTF plugin) {
         this.plugin = plugin;
     }
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!canUse(sender)) {
+            sender.sendMessage(plugin.getMessageUtil().render("general.no-permission"));
+            return true;
+        }
+        
         if (args.length == 0) {
             showHelp(sender);
             return true;
@@ -47,6 +58,8 @@ public class CTFCommand implements CommandExecutor, TabCompleter {
                 return handleList(sender, args);
             case "stats":
                 return handleStats(sender, args);
+            case "top":
+                return handleTop(sender, args);
             case "chat":
                 return handleChatHelp(sender, args);
             case "help":
@@ -56,6 +69,12 @@ public class CTFCommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    // permissions.use-permission-system and permissions.default-permission
+    private boolean canUse(CommandSender sender) {
+        PluginSettings settings = plugin.getConfigManager().getSettings();
+        return !settings.usePermissionSystem() || sender.hasPermission(settings.defaultPermission());
+    }
+    
     private boolean handleJoin(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
             plugin.getMessageUtil().sendRawMessage((Player) sender, plugin.getMessageUtil().getMessage("general.player-only"));
@@ -156,9 +175,14 @@ public class CTFCommand implements CommandExecutor, TabCompleter {
         }
         
         PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(target);
+        if (data == null) {
+            // The target was kicked because their profile did not load
+            plugin.getMessageUtil().sendRawMessage(player, "&cPlayer not found!");
+            return true;
+        }
         
         // Calculate level and XP info
-        int level = plugin.getXPManager().calculateLevel(data.experience);
+        int level = plugin.getXPManager().getLevel(data);
         int currentLevelXP = plugin.getXPManager().getCurrentLevelProgress(data.experience);
         int requiredXP = plugin.getXPManager().getXPRequiredForCurrentLevel(data.experience);
         String levelTitle = plugin.getXPManager().getLevelTitle(level);
@@ -203,6 +227,62 @@ public class CTFCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    private boolean handleTop(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            plugin.getMessageUtil().sendRawMessage((Player) sender, plugin.getMessageUtil().getMessage("general.player-only"));
+            return true;
+        }
+        
+        Player player = (Player) sender;
+        LeaderboardStat stat = args.length > 1 ? LeaderboardStat.fromId(args[1]) : null;
+        
+        if (stat == null) {
+            plugin.getMessageUtil().sendRawMessage(player, "&cUsage: /ctf top <" + getLeaderboardIds() + "> [page]");
+            return true;
+        }
+        
+        Leaderboards leaderboards = plugin.getPlayerManager().getLeaderboards();
+        if (!leaderboards.isLoaded()) {
+            plugin.getMessageUtil().sendRawMessage(player, "&cLeaderboards are still loading, try again in a moment!");
+            return true;
+        }
+        
+        int pages = Math.max(1, (leaderboards.getSize(stat) + LEADERBOARD_PAGE_SIZE - 1) / LEADERBOARD_PAGE_SIZE);
+        int page = 1;
+        if (args.length > 2) {
+            try {
+                page = Math.max(1, Math.min(pages, Integer.parseInt(args[2])));
+            } catch (NumberFormatException e) {
+                plugin.getMessageUtil().sendRawMessage(player, "&cInvalid page number!");
+                return true;
+            }
+        }
+        
+        plugin.getMessageUtil().sendRawMessage(player, "&6=== Top " + stat.getDisplayName() + " &7(" + page + "/" + pages + ")&6 ===");
+        
+        for (RankedIndex.Entry entry : leaderboards.getPage(stat, page, LEADERBOARD_PAGE_SIZE)) {
+            String name = Bukkit.getOfflinePlayer(entry.uuid).getName();
+            plugin.getMessageUtil().sendRawMessage(player, "&e#" + entry.rank + " &f" + (name != null ? name : "Unknown") +
+                " &7- &a" + stat.formatScore(entry.score));
+        }
+        
+        int rank = leaderboards.getRank(stat, player.getUniqueId());
+        if (rank > 0) {
+            plugin.getMessageUtil().sendRawMessage(player, "&7Your rank: &e#" + rank);
+        }
+        
+        return true;
+    }
+    
+    private String getLeaderboardIds() {
+        StringBuilder ids = new StringBuilder();
+        for (LeaderboardStat stat : LeaderboardStat.values()) {
+            if (ids.length() > 0) ids.append("|");
+            ids.append(stat.getId());
+        }
+        return ids.toString();
+    }
+    
     private boolean handleChatHelp(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
             plugin.getMessageUtil().sendRawMessage((Player) sender, plugin.getMessageUtil().getMessage("general.player-only"));
@@ -242,6 +322,7 @@ public class CTFCommand implements CommandExecutor, TabCompleter {
         plugin.getMessageUtil().sendMessage(player, "help.leave");
         plugin.getMessageUtil().sendMessage(player, "help.list");
         plugin.getMessageUtil().sendMessage(player, "help.stats");
+        plugin.getMessageUtil().sendMessage(player, "help.top");
         plugin.getMessageUtil().sendRawMessage(player, "&e/ctf chat &7- Show chat system help");
         plugin.getMessageUtil().sendMessage(player, "help.help");
     }
@@ -249,10 +330,11 @@ public class CTFCommand implements CommandExecutor, TabCompleter {
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         List<String> completions = new ArrayList<>();
+        if (!canUse(sender)) return completions;
         
         if (args.length == 1) {
             // Main subcommands
-            List<String> subCommands = Arrays.asList("join", "leave", "list", "stats", "chat", "help");
+            List<String> subCommands = Arrays.asList("join", "leave", "list", "stats", "top", "chat", "help");
             for (String subCommand : subCommands) {
                 if (subCommand.toLowerCase().startsWith(args[0].toLowerCase())) {
                     completions.add(subCommand);
@@ -277,6 +359,12 @@ public class CTFCommand implements CommandExecutor, TabCompleter {
                         completions.add(player.getName());
                     }
                 }
+            } else if (subCommand.equals("top")) {
+                for (LeaderboardStat stat : LeaderboardStat.values()) {
+                    if (stat.getId().startsWith(args[1].toLowerCase())) {
+                        completions.add(stat.getId());
+                    }
+                }
             }
         }
         
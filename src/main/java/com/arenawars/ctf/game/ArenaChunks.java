@@ -0,0 +1,121 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.game;
+
+import com.arenawars.ctf.arena.Arena;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Keeps the chunks of one match's arena loaded from the start countdown until cleanup.
+ *
+ * {@link #prewarm()} loads every chunk between the arena corners asynchronously and pins each
+ * one with a plugin chunk ticket as it arrives, so the countdown, the start teleports and the
+ * first fights don't wait for chunk I/O. {@link #release()} drops the tickets; when the server
+ * is short on memory it also asks for the chunks to be unloaded instead of waiting for the
+ * regular unload. Tickets of a disabled plugin are removed by the server. Main thread only.
+ */
+public class ArenaChunks {
+
+    // Larger arenas are not pinned, holding that many chunks would cost more than it saves
+    private static final int MAX_CHUNKS = 1024;
+
+    // Below this share of free heap, released chunks are unloaded right away
+    private static final double LOW_MEMORY_FREE_RATIO = 0.15;
+
+    private final Plugin plugin;
+    private final Arena arena;
+    private World world;
+    private long[] ticketed;
+    private int ticketCount;
+    private boolean active;
+    private int generation; // Bumped by every prewarm and release, outdated chunk loads are ignored
+
+    public ArenaChunks(Plugin plugin, Arena arena) {
+        this.plugin = plugin;
+        this.arena = arena;
+    }
+
+    public void prewarm() {
+        if (active) return;
+
+        Location corner1 = arena.getCorner1();
+        Location corner2 = arena.getCorner2();
+        if (corner1 == null || corner2 == null || corner1.getWorld() == null
+                || !corner1.getWorld().equals(corner2.getWorld())) return;
+
+        int minX = Math.min(corner1.getBlockX(), corner2.getBlockX()) >> 4;
+        int minZ = Math.min(corner1.getBlockZ(), corner2.getBlockZ()) >> 4;
+        int maxX = Math.max(corner1.getBlockX(), corner2.getBlockX()) >> 4;
+        int maxZ = Math.max(corner1.getBlockZ(), corner2.getBlockZ()) >> 4;
+
+        long count = (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+        if (count > MAX_CHUNKS) {
+            plugin.getLogger().warning("Arena " + arena.getName() + " spans " + count + " chunks, not keeping them loaded");
+            return;
+        }
+
+        this.world = corner1.getWorld();
+        this.ticketed = new long[(int) count];
+        this.ticketCount = 0;
+        this.active = true;
+        int current = ++generation;
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                int chunkX = x;
+                int chunkZ = z;
+                world.getChunkAtAsync(chunkX, chunkZ).thenAccept(chunk -> pin(current, chunkX, chunkZ));
+            }
+        }
+    }
+
+    // Runs on the main thread once the chunk is loaded; a load started before the last
+    // release or prewarm belongs to state that no longer exists
+    private void pin(int loadGeneration, int chunkX, int chunkZ) {
+        if (!active || loadGeneration != generation) return;
+
+        world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+        ticketed[ticketCount++] = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public void release() {
+        if (!active) return;
+        active = false;
+        generation++;
+
+        boolean lowMemory = isMemoryLow();
+        for (int i = 0; i < ticketCount; i++) {
+            int chunkX = (int) (ticketed[i] >> 32);
+            int chunkZ = (int) ticketed[i];
+
+            world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+            if (lowMemory) {
+                // Only a request, the server keeps chunks that players are near
+                world.unloadChunkRequest(chunkX, chunkZ);
+            }
+        }
+
+        ticketed = null;
+        ticketCount = 0;
+        world = null;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public int getPinnedCount() {
+        return ticketCount;
+    }
+
+    private static boolean isMemoryLow() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return (runtime.maxMemory() - used) < runtime.maxMemory() * LOW_MEMORY_FREE_RATIO;
+    }
+}
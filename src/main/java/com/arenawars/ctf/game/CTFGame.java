@@ -8,7 +8,14 @@ package com.arenawars.ctf.game;
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.arena.Arena;
 import com.arenawars.ctf.arena.ArenaState;
+import com.arenawars.ctf.managers.PlayerSession;
+import com.arenawars.ctf.utils.BatchedAudience;
+import com.arenawars.ctf.utils.BroadcastQueue;
 import com.arenawars.ctf.utils.MessageUtil;
+import com.arenawars.ctf.utils.TeleportPipeline;
+import com.arenawars.ctf.utils.TimingWheel;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -18,6 +25,9 @@ import java.util.*;
 
 public class CTFGame {
     
+    private static final double FLAG_TRIGGER_RADIUS = 2.0;
+    private static final double SAFE_SPAWN_RADIUS = 12.0;
+    
     private final ArenaWarsCTF plugin;
     private final Arena arena;
     private final Map<Team, Integer> scores;
@@ -25,7 +35,18 @@ public class CTFGame {
     private final Map<Team, Location> flagLocations;
     private final Map<Team, Player> flagCarriers;
     private final Set<Player> players;
+    private final Map<Team, TimingWheel.Handle> flagReturnTimers;
+    private final TimingWheel timers;
+    private final TeleportPipeline teleports;
+    private final TriggerZones triggerZones;
+    private final Map<Team, TriggerZones.Zone> flagZones;
+    private final PlayerGrid playerGrid;
+    private final ArenaChunks arenaChunks;
+    private final BatchedAudience audience;
+    private final Map<Team, BatchedAudience> teamAudiences;
     
+    private TimingWheel.Handle countdownTimer;
+    private TimingWheel.Handle gameTimer;
     private int gameTime;
     private int startCountdown;
     private boolean gameStarted;
@@ -39,18 +60,38 @@ public class CTFGame {
         this.flagLocations = new HashMap<>();
         this.flagCarriers = new HashMap<>();
         this.players = new HashSet<>();
+        this.flagReturnTimers = new EnumMap<>(Team.class);
+        this.timers = plugin.getGameManager().getTimers();
+        this.teleports = plugin.getGameManager().getTeleports();
+        this.playerGrid = new PlayerGrid();
+        this.arenaChunks = new ArenaChunks(plugin, arena);
         
         // Initialize teams
         teams.put(Team.RED, new ArrayList<>());
         teams.put(Team.BLUE, new ArrayList<>());
         
+        // Broadcast audiences over the live player and team lists
+        BroadcastQueue broadcasts = plugin.getGameManager().getBroadcasts();
+        this.audience = broadcasts.createAudience(players);
+        this.teamAudiences = new EnumMap<>(Team.class);
+        for (Team team : Team.values()) {
+            teamAudiences.put(team, broadcasts.createAudience(teams.get(team)));
+        }
+        
         // Initialize scores
         scores.put(Team.RED, 0);
         scores.put(Team.BLUE, 0);
         
-        // Initialize flag locations
-        flagLocations.put(Team.RED, arena.getRedFlag());
-        flagLocations.put(Team.BLUE, arena.getBlueFlag());
+        // Initialize flag locations and their trigger zones
+        this.triggerZones = new TriggerZones();
+        this.flagZones = new EnumMap<>(Team.class);
+        for (Team team : Team.values()) {
+            flagZones.put(team, triggerZones.create(TriggerZones.Type.FLAG, team, FLAG_TRIGGER_RADIUS));
+            triggerZones.create(TriggerZones.Type.RETURN, team, FLAG_TRIGGER_RADIUS)
+                .moveTo(team == Team.RED ? arena.getRedFlagReturn() : arena.getBlueFlagReturn());
+        }
+        setFlagLocation(Team.RED, arena.getRedFlag());
+        setFlagLocation(Team.BLUE, arena.getBlueFlag());
         
         this.gameTime = plugin.getConfigManager().getGameDuration();
         this.startCountdown = 10; // 10 second countdown
@@ -72,19 +113,29 @@ public class CTFGame {
         teams.get(team).add(player);
         
         // Set player data
-        plugin.getPlayerManager().setPlayerArena(player, arena.getName());
-        plugin.getPlayerManager().setPlayerTeam(player, team);
-        
-        // Teleport to waiting lobby
-        player.teleport(arena.getWaitingLobby());
+        plugin.getPlayerManager().startSession(player, this, team);
+        plugin.logPlayerAction(player.getName() + " joined " + arena.getName() + " as " + team.getDisplayName());
+        
+        // Move the player into the arena's tab list group
+        plugin.getTabListManager().onPlayerJoinArena(player, arena.getName());
+        plugin.getTabListManager().setTabListHeader(player);
+        
+        // Teleport to waiting lobby after settings.teleport-delay, unless the game started meanwhile
+        int teleportDelay = plugin.getConfigManager().getTeleportDelay();
+        if (teleportDelay > 0) {
+            plugin.getMessageUtil().sendMessage(player, "game.teleporting", "seconds", String.valueOf(teleportDelay));
+            timers.schedule(this, teleportDelay * 20L, () -> {
+                if (players.contains(player) && !gameStarted) {
+                    teleports.teleport(player, arena.getWaitingLobby());
+                }
+            });
+        } else {
+            teleports.teleport(player, arena.getWaitingLobby());
+        }
         
         // Send join message
-        Map<String, String> placeholders = MessageUtil.createPlaceholders(
-            "arena", arena.getDisplayName(),
-            "team", team.getColoredName()
-        );
-        plugin.getMessageUtil().sendMessage(player, "game.joined-queue", placeholders);
-        plugin.getMessageUtil().sendMessage(player, "game.team-assigned", placeholders);
+        plugin.getMessageUtil().sendMessage(player, "game.joined-queue", "arena", arena.getDisplayName());
+        plugin.getMessageUtil().sendMessage(player, "game.team-assigned", "team", team.getColoredName());
         
         // Check if we can start the game
         if (players.size() >= plugin.getConfigManager().getMinPlayersToStart()) {
@@ -95,7 +146,11 @@ public class CTFGame {
     }
     
     public void removePlayer(Player player) {
-        players.remove(player);
+        if (players.remove(player)) {
+            plugin.logPlayerAction(player.getName() + " left " + arena.getName());
+        }
+        playerGrid.remove(player);
+        teleports.cancel(player);
         
         Team team = plugin.getPlayerManager().getPlayerTeam(player);
         if (team != null) {
@@ -107,7 +162,11 @@ public class CTFGame {
             }
         }
         
+        // Players who died shortly before leaving are still spectators
+        plugin.getRespawnManager().cancelRespawn(player);
         plugin.getPlayerManager().removePlayerFromArena(player);
+        plugin.getScoreboardManager().removeScoreboard(player);
+        plugin.getTabListManager().onPlayerLeaveArena(player);
         
         // Check if game should end due to insufficient players
         if (gameStarted && players.size() < plugin.getConfigManager().getMinPlayersToStart()) {
@@ -127,33 +186,34 @@ public class CTFGame {
         
         arena.setState(ArenaState.STARTING);
         
-        // Start countdown
-        plugin.getServer().getScheduler().runTaskTimer(plugin, new Runnable() {
-            @Override
-            public void run() {
-                if (startCountdown > 0) {
-                    // Send countdown message
-                    Map<String, String> placeholders = MessageUtil.createPlaceholders(
-                        "seconds", String.valueOf(startCountdown)
-                    );
-                    
-                    for (Player player : players) {
-                        plugin.getMessageUtil().sendMessage(player, "game.game-starting", placeholders);
-                        plugin.getMessageUtil().sendTitle(player, "&6&l" + startCountdown, "&eGet ready!");
-                    }
-                    
-                    startCountdown--;
-                } else {
-                    // Start the actual game
-                    actuallyStartGame();
-                }
+        // Load and pin the arena chunks while the countdown runs
+        arenaChunks.prewarm();
+        
+        // Start countdown, stopped as soon as it hands over to the game
+        countdownTimer = timers.scheduleRepeating(this, 0L, 20L, () -> {
+            if (startCountdown > 0) {
+                // Send countdown message
+                Component message = plugin.getMessageUtil().render("game.game-starting",
+                    "seconds", String.valueOf(startCountdown));
+                
+                audience.sendMessage(message);
+                audience.showTitle(plugin.getMessageUtil().renderRawTitle("&6&l" + startCountdown, "&eGet ready!"));
+                
+                startCountdown--;
+            } else {
+                countdownTimer.cancel();
+                countdownTimer = null;
+                
+                // Start the actual game
+                actuallyStartGame();
             }
-        }, 0L, 20L);
+        });
     }
     
     private void actuallyStartGame() {
         gameStarted = true;
         arena.setState(ArenaState.ACTIVE);
+        plugin.logGameEvent("Game in " + arena.getName() + " started with " + players.size() + " players");
         
         // Teleport players to their spawns and give equipment
         for (Team team : Team.values()) {
@@ -164,17 +224,22 @@ public class CTFGame {
                 Player player = teamPlayers.get(i);
                 Location spawn = spawns.get(i % spawns.size()); // Cycle through spawns
                 
-                player.teleport(spawn);
-                givePlayerEquipment(player, team);
-                plugin.getPlayerManager().addSpawnProtection(player);
+                // Spread over a few ticks; kit and protection once the player is there
+                teleports.teleport(player, spawn).thenAccept(arrived -> {
+                    if (!player.isOnline() || !players.contains(player) || gameEnded) return;
+                    
+                    if (!arrived) {
+                        player.teleport(spawn);
+                    }
+                    plugin.getKitManager().giveKit(player, team);
+                    plugin.getPlayerManager().addSpawnProtection(player);
+                });
             }
         }
         
         // Send game start message
-        for (Player player : players) {
-            plugin.getMessageUtil().sendMessage(player, "game.game-started");
-            plugin.getMessageUtil().sendTitle(player, "&a&lGAME STARTED!", "&eCapture the enemy flag!");
-        }
+        audience.sendMessage(plugin.getMessageUtil().render("game.game-started"));
+        audience.showTitle(plugin.getMessageUtil().renderRawTitle("&a&lGAME STARTED!", "&eCapture the enemy flag!"));
         
         // Spawn flags
         spawnFlags();
@@ -184,20 +249,17 @@ public class CTFGame {
     }
     
     private void startGameTimer() {
-        plugin.getServer().getScheduler().runTaskTimer(plugin, new Runnable() {
-            @Override
-            public void run() {
-                if (!gameStarted || gameEnded) return;
-                
-                gameTime--;
-                
-                if (gameTime <= 0) {
-                    // Time's up - determine winner by score
-                    Team winner = getWinnerByScore();
-                    endGame(winner);
-                }
+        gameTimer = timers.scheduleRepeating(this, 20L, 20L, () -> {
+            if (!gameStarted || gameEnded) return;
+            
+            gameTime--;
+            
+            if (gameTime <= 0) {
+                // Time's up - determine winner by score
+                Team winner = getWinnerByScore();
+                endGame(winner);
             }
-        }, 20L, 20L);
+        });
     }
     
     private Team getWinnerByScore() {
@@ -219,17 +281,89 @@ public class CTFGame {
         // Implementation for flag auto-return would go here
     }
     
+    /**
+     * Keeps the player grid in sync with a player's position. Players waiting to respawn
+     * are not live and are kept out of it.
+     */
+    public void updatePlayerPosition(PlayerSession session, Location location) {
+        if (session.getGame() != this || session.isRespawning()) {
+            playerGrid.remove(session.getPlayer());
+            return;
+        }
+        
+        playerGrid.update(session.getPlayer(), session.getTeam(), location);
+    }
+    
+    /**
+     * Picks the team spawn with the fewest enemies around it, starting from a random
+     * spawn so ties are spread out.
+     */
+    public Location pickSafeSpawn(Team team, Random random) {
+        List<Location> spawns = team == Team.RED ? arena.getRedSpawns() : arena.getBlueSpawns();
+        if (spawns.isEmpty()) return null;
+        
+        int start = random.nextInt(spawns.size());
+        Location best = null;
+        int bestEnemies = Integer.MAX_VALUE;
+        
+        for (int i = 0; i < spawns.size() && bestEnemies > 0; i++) {
+            Location spawn = spawns.get((start + i) % spawns.size());
+            int enemies = playerGrid.countWithin(spawn, SAFE_SPAWN_RADIUS, team.getOpposite());
+            if (enemies < bestEnemies) {
+                best = spawn;
+                bestEnemies = enemies;
+            }
+        }
+        
+        return best;
+    }
+    
+    /**
+     * Runs the flag pickup/capture triggers for a player who just entered a new block.
+     * Only the zones registered in that block's grid cell are tested.
+     */
+    public boolean checkTriggers(PlayerSession session, Location location) {
+        if (location.getWorld() == null) return false;
+        
+        Player player = session.getPlayer();
+        Team playerTeam = session.getTeam();
+        
+        UUID world = location.getWorld().getUID();
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        
+        for (TriggerZones.Zone zone : triggerZones.getCandidates(x, y, z)) {
+            if (!zone.contains(world, x, y, z)) continue;
+            
+            Team zoneTeam = zone.getTeam();
+            switch (zone.getType()) {
+                case FLAG:
+                    if (zoneTeam != playerTeam && flagCarriers.get(zoneTeam) == null) {
+                        pickupFlag(player, zoneTeam);
+                        return true;
+                    }
+                    break;
+                case RETURN:
+                    if (zoneTeam == playerTeam && flagCarriers.get(playerTeam.getOpposite()) == player) {
+                        captureFlag(player, playerTeam.getOpposite());
+                        return true;
+                    }
+                    break;
+            }
+        }
+        
+        return false;
+    }
+    
     public boolean attemptFlagPickup(Player player, Location location) {
         Team playerTeam = plugin.getPlayerManager().getPlayerTeam(player);
         if (playerTeam == null) return false;
         
         Team oppositeTeam = playerTeam.getOpposite();
-        Location flagLocation = flagLocations.get(oppositeTeam);
-        
-        if (flagLocation == null) return false;
         
         // Check if player is close enough to the flag
-        if (location.distance(flagLocation) <= 2.0) {
+        if (flagZones.get(oppositeTeam).contains(location)) {
             // Check if flag is not already taken
             if (flagCarriers.get(oppositeTeam) == null) {
                 pickupFlag(player, oppositeTeam);
@@ -241,44 +375,41 @@ public class CTFGame {
     }
     
     private void pickupFlag(Player player, Team flagTeam) {
+        cancelFlagReturnTimer(flagTeam);
         flagCarriers.put(flagTeam, player);
-        flagLocations.put(flagTeam, null); // Flag is now carried
+        setFlagLocation(flagTeam, null); // Flag is now carried
         
         // Give flag item to player
         ItemStack flag = createFlagItem(flagTeam);
         player.getInventory().addItem(flag);
         
         // Broadcast flag taken message
-        Map<String, String> placeholders = MessageUtil.createPlaceholders(
+        Component message = plugin.getMessageUtil().render("game.flag-taken",
             "player", player.getName(),
             "team", flagTeam.getDisplayName(),
             "color", flagTeam.getColorCode()
         );
         
-        for (Player gamePlayer : players) {
-            plugin.getMessageUtil().sendMessage(gamePlayer, "game.flag-taken", placeholders);
-        }
+        audience.sendMessage(message);
     }
     
     public void dropFlag(Player player, Team flagTeam) {
         if (flagCarriers.get(flagTeam) != player) return;
         
         flagCarriers.put(flagTeam, null);
-        flagLocations.put(flagTeam, player.getLocation());
+        setFlagLocation(flagTeam, player.getLocation());
         
         // Remove flag item from inventory
         removeItemFromInventory(player, createFlagItem(flagTeam));
         
         // Broadcast flag dropped message
-        Map<String, String> placeholders = MessageUtil.createPlaceholders(
+        Component message = plugin.getMessageUtil().render("game.flag-dropped",
             "player", player.getName(),
             "team", flagTeam.getDisplayName(),
             "color", flagTeam.getColorCode()
         );
         
-        for (Player gamePlayer : players) {
-            plugin.getMessageUtil().sendMessage(gamePlayer, "game.flag-dropped", placeholders);
-        }
+        audience.sendMessage(message);
         
         // Start flag return timer
         startFlagReturnTimer(flagTeam);
@@ -294,11 +425,11 @@ public class CTFGame {
         if (flagCarriers.get(oppositeTeam) != player) return false;
         
         // Check if player is at their team's flag return point
-        Location returnPoint = playerTeam == Team.RED ? arena.getRedFlagReturn() : arena.getBlueFlagReturn();
-        
-        if (location.distance(returnPoint) <= 2.0) {
-            captureFlag(player, oppositeTeam);
-            return true;
+        for (TriggerZones.Zone zone : triggerZones.getCandidates(location.getBlockX(), location.getBlockY(), location.getBlockZ())) {
+            if (zone.getType() == TriggerZones.Type.RETURN && zone.getTeam() == playerTeam && zone.contains(location)) {
+                captureFlag(player, oppositeTeam);
+                return true;
+            }
         }
         
         return false;
@@ -309,6 +440,8 @@ public class CTFGame {
         
         // Add score
         scores.put(playerTeam, scores.get(playerTeam) + 1);
+        plugin.logGameEvent(player.getName() + " captured the " + flagTeam.getDisplayName() + " flag in "
+            + arena.getName() + ", score " + scores.get(Team.RED) + "-" + scores.get(Team.BLUE));
         
         // Remove flag from player
         flagCarriers.put(flagTeam, null);
@@ -322,16 +455,14 @@ public class CTFGame {
         plugin.getXPManager().awardCaptureXP(player);
         
         // Broadcast capture message
-        Map<String, String> placeholders = MessageUtil.createPlaceholders(
+        Component message = plugin.getMessageUtil().render("game.flag-captured",
             "player", player.getName(),
             "team", flagTeam.getDisplayName(),
             "color", flagTeam.getColorCode(),
             "score", String.valueOf(scores.get(playerTeam))
         );
         
-        for (Player gamePlayer : players) {
-            plugin.getMessageUtil().sendMessage(gamePlayer, "game.flag-captured", placeholders);
-        }
+        audience.sendMessage(message);
         
         // Check win condition
         if (scores.get(playerTeam) >= plugin.getConfigManager().getCapturesToWin()) {
@@ -340,32 +471,47 @@ public class CTFGame {
     }
     
     private void returnFlag(Team flagTeam) {
+        cancelFlagReturnTimer(flagTeam);
         Location originalLocation = flagTeam == Team.RED ? arena.getRedFlag() : arena.getBlueFlag();
-        flagLocations.put(flagTeam, originalLocation);
+        setFlagLocation(flagTeam, originalLocation);
         
         // Spawn flag at original location
         spawnFlag(flagTeam, originalLocation);
     }
     
+    private void setFlagLocation(Team flagTeam, Location location) {
+        flagLocations.put(flagTeam, location);
+        flagZones.get(flagTeam).moveTo(location);
+    }
+    
     private void startFlagReturnTimer(Team flagTeam) {
         int returnDelay = plugin.getConfigManager().getFlagReturnDelay();
         
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+        // A new drop replaces the timer of the previous one
+        cancelFlagReturnTimer(flagTeam);
+        flagReturnTimers.put(flagTeam, timers.schedule(this, returnDelay * 20L, () -> {
+            flagReturnTimers.remove(flagTeam);
+            
             // Check if flag is still dropped
             if (flagCarriers.get(flagTeam) == null && flagLocations.get(flagTeam) != null) {
                 returnFlag(flagTeam);
                 
                 // Broadcast return message
-                Map<String, String> placeholders = MessageUtil.createPlaceholders(
+                Component message = plugin.getMessageUtil().render("game.flag-returned",
                     "team", flagTeam.getDisplayName(),
                     "color", flagTeam.getColorCode()
                 );
                 
-                for (Player gamePlayer : players) {
-                    plugin.getMessageUtil().sendMessage(gamePlayer, "game.flag-returned", placeholders);
-                }
+                audience.sendMessage(message);
             }
-        }, returnDelay * 20L);
+        }));
+    }
+    
+    private void cancelFlagReturnTimer(Team flagTeam) {
+        TimingWheel.Handle timer = flagReturnTimers.remove(flagTeam);
+        if (timer != null) {
+            timer.cancel();
+        }
     }
     
     public void endGame(Team winner) {
@@ -373,27 +519,51 @@ public class CTFGame {
         
         gameEnded = true;
         arena.setState(ArenaState.ENDING);
+        plugin.logGameEvent("Game in " + arena.getName() + " ended, winner: "
+            + (winner != null ? winner.getDisplayName() : "none"));
+        
+        // Stop the countdown, clock and flag returns. Spawn protection runs out or ends with the
+        // player's session, and respawn countdowns check for the end themselves.
+        if (countdownTimer != null) {
+            countdownTimer.cancel();
+            countdownTimer = null;
+        }
+        if (gameTimer != null) {
+            gameTimer.cancel();
+            gameTimer = null;
+        }
+        for (TimingWheel.Handle timer : flagReturnTimers.values()) {
+            timer.cancel();
+        }
+        flagReturnTimers.clear();
         
         // Calculate and announce MVP
         Player mvp = plugin.getMVPManager().calculateMVP(this, winner);
         
-        // Award XP and show victory/defeat screens
+        // Show victory/defeat screens, rendered once per outcome
+        if (winner == null) {
+            // Tie or no winner
+            audience.showTitle(plugin.getMessageUtil().renderRawTitle("&6&lTIE GAME!", "&7Good game everyone!"));
+        } else {
+            MessageUtil messageUtil = plugin.getMessageUtil();
+            Title victory = messageUtil.renderRawTitle(messageUtil.getMessage("game.victory-title"), "&a&lYou won!");
+            Title defeat = messageUtil.renderRawTitle(messageUtil.getMessage("game.defeat-title"), "&c&lYou lost!");
+            for (Team team : Team.values()) {
+                teamAudiences.get(team).showTitle(team == winner ? victory : defeat);
+            }
+        }
+        
+        // Award XP
         for (Player player : players) {
             Team playerTeam = plugin.getPlayerManager().getPlayerTeam(player);
             
             // Award participation XP to everyone
             plugin.getXPManager().awardParticipationXP(player);
             
-            if (winner == null) {
-                // Tie or no winner
-                plugin.getMessageUtil().sendTitle(player, "&6&lTIE GAME!", "&7Good game everyone!");
-            } else if (playerTeam == winner) {
-                plugin.getMessageUtil().sendTitle(player, "game.victory-title", "&a&lYou won!");
+            if (winner != null && playerTeam == winner) {
                 plugin.getPlayerManager().addGameWon(player);
                 // Award win XP
                 plugin.getXPManager().awardWinXP(player);
-            } else {
-                plugin.getMessageUtil().sendTitle(player, "game.defeat-title", "&c&lYou lost!");
             }
             
             plugin.getPlayerManager().addGamePlayed(player);
@@ -401,29 +571,26 @@ public class CTFGame {
         
         // Broadcast winner
         if (winner != null) {
-            Map<String, String> placeholders = MessageUtil.createPlaceholders(
-                "team", winner.getColoredName()
-            );
-            
-            for (Player player : players) {
-                plugin.getMessageUtil().sendMessage(player, "game.team-won", placeholders);
-            }
+            audience.sendMessage(plugin.getMessageUtil().render("game.team-won", "team", winner.getColoredName()));
         }
         
         // Show MVP after a short delay
         if (mvp != null) {
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            timers.schedule(this, 60L, () -> {
                 plugin.getMVPManager().announceMVP(this, mvp, winner);
-            }, 60L); // 3 seconds delay
+            }); // 3 seconds delay
         }
         
         // Schedule cleanup
-        plugin.getServer().getScheduler().runTaskLater(plugin, this::cleanupGame, 200L); // 10 seconds
+        timers.schedule(this, 200L, this::cleanupGame); // 10 seconds
     }
     
     private void cleanupGame() {
         arena.setState(ArenaState.RESETTING);
         
+        // Deliver anything queued this tick while the players are still in the game
+        flushAudiences();
+        
         // Remove all players from arena
         for (Player player : new HashSet<>(players)) {
             removePlayer(player);
@@ -431,15 +598,48 @@ public class CTFGame {
             // Implementation depends on your server setup
         }
         
+        plugin.getScoreboardManager().removeGame(this);
+        playerGrid.clear();
+        
         // Clear arena if configured
         if (plugin.getConfigManager().isAutoCleanupEnabled()) {
             cleanupArena();
         }
         
+        // Release anything still registered by this game
+        timers.cancelAll(this);
+        arenaChunks.release();
+        
         // Reset arena state
         arena.setState(ArenaState.WAITING);
     }
     
+    public TimingWheel getTimers() {
+        return timers;
+    }
+    
+    public PlayerGrid getPlayerGrid() {
+        return playerGrid;
+    }
+    
+    /**
+     * Everyone in this game; output is sent at the end of the tick.
+     */
+    public BatchedAudience getAudience() {
+        return audience;
+    }
+    
+    public BatchedAudience getAudience(Team team) {
+        return teamAudiences.get(team);
+    }
+    
+    private void flushAudiences() {
+        audience.flush();
+        for (BatchedAudience teamAudience : teamAudiences.values()) {
+            teamAudience.flush();
+        }
+    }
+    
     private void cleanupArena() {
         // Implementation for arena cleanup would go here
         // This could involve restoring blocks, clearing entities, etc.
@@ -469,55 +669,6 @@ public class CTFGame {
         player.getInventory().removeItem(item);
     }
     
-    private void givePlayerEquipment(Player player, Team team) {
-        player.getInventory().clear();
-        
-        // Give basic CTF equipment based on team
-        if (team == Team.RED) {
-            // Red team equipment
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_SWORD));
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.BOW));
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.ARROW, 32));
-            
-            // Red armor
-            player.getInventory().setHelmet(new org.bukkit.inventory.ItemStack(org.bukkit.Material.LEATHER_HELMET));
-            player.getInventory().setChestplate(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_CHESTPLATE));
-            player.getInventory().setLeggings(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_LEGGINGS));
-            player.getInventory().setBoots(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_BOOTS));
-            
-            // Color the leather helmet red
-            org.bukkit.inventory.ItemStack helmet = player.getInventory().getHelmet();
-            if (helmet != null && helmet.getItemMeta() instanceof org.bukkit.inventory.meta.LeatherArmorMeta) {
-                org.bukkit.inventory.meta.LeatherArmorMeta meta = (org.bukkit.inventory.meta.LeatherArmorMeta) helmet.getItemMeta();
-                meta.setColor(org.bukkit.Color.RED);
-                helmet.setItemMeta(meta);
-            }
-            
-        } else {
-            // Blue team equipment
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_SWORD));
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.BOW));
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.ARROW, 32));
-            
-            // Blue armor
-            player.getInventory().setHelmet(new org.bukkit.inventory.ItemStack(org.bukkit.Material.LEATHER_HELMET));
-            player.getInventory().setChestplate(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_CHESTPLATE));
-            player.getInventory().setLeggings(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_LEGGINGS));
-            player.getInventory().setBoots(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_BOOTS));
-            
-            // Color the leather helmet blue
-            org.bukkit.inventory.ItemStack helmet = player.getInventory().getHelmet();
-            if (helmet != null && helmet.getItemMeta() instanceof org.bukkit.inventory.meta.LeatherArmorMeta) {
-                org.bukkit.inventory.meta.LeatherArmorMeta meta = (org.bukkit.inventory.meta.LeatherArmorMeta) helmet.getItemMeta();
-                meta.setColor(org.bukkit.Color.BLUE);
-                helmet.setItemMeta(meta);
-            }
-        }
-        
-        // Add food
-        player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.COOKED_BEEF, 16));
-    }
-    
     // Getters
     public Arena getArena() { return arena; }
     public Set<Player> getPlayers() { return players; }
@@ -0,0 +1,246 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.game;
+
+import com.arenawars.ctf.utils.LongMap;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Uniform-grid spatial hash of the live players of one game.
+ *
+ * Players are bucketed into 16x16 block columns (one per chunk), kept per world in a table
+ * keyed by the packed column coordinates. Moves only touch the grid when a player crosses
+ * into another column, and queries scan the columns overlapping the query box. Lookups never
+ * box a key and results are written into a caller-owned array, so a query allocates nothing.
+ * Main thread only.
+ */
+public class PlayerGrid {
+
+    private static final int CELL_BITS = 4;
+
+    private final Map<UUID, LongMap<Cell>> worlds; // World id -> Cells
+    private final Map<UUID, Entry> entries;
+
+    public PlayerGrid() {
+        this.worlds = new HashMap<>();
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * Adds the player or moves them to {@code location}.
+     */
+    public void update(Player player, Team team, Location location) {
+        if (location.getWorld() == null) {
+            remove(player);
+            return;
+        }
+
+        LongMap<Cell> cells = worlds.computeIfAbsent(location.getWorld().getUID(), world -> new LongMap<>());
+
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry == null) {
+            entry = new Entry(player);
+            entries.put(player.getUniqueId(), entry);
+        }
+
+        entry.team = team;
+        entry.x = location.getX();
+        entry.y = location.getY();
+        entry.z = location.getZ();
+
+        long key = cellKey(location.getBlockX() >> CELL_BITS, location.getBlockZ() >> CELL_BITS);
+        if (entry.cell != null && entry.cell.key == key && entry.cell.cells == cells) return;
+
+        if (entry.cell != null) {
+            unlink(entry);
+        }
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell(cells, key);
+            cells.put(key, cell);
+        }
+        cell.add(entry);
+    }
+
+    public void remove(Player player) {
+        Entry entry = entries.remove(player.getUniqueId());
+        if (entry != null && entry.cell != null) {
+            unlink(entry);
+        }
+    }
+
+    private void unlink(Entry entry) {
+        Cell cell = entry.cell;
+        cell.remove(entry);
+        if (cell.size == 0) {
+            cell.cells.remove(cell.key);
+        }
+    }
+
+    public boolean contains(Player player) {
+        return entries.containsKey(player.getUniqueId());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        worlds.clear();
+        entries.clear();
+    }
+
+    /**
+     * Collects the players within {@code radius} of {@code center}.
+     *
+     * @param team only count players of this team, or null for everyone
+     * @param out receives up to {@code out.length} players, may be null to only count
+     * @return the number of matching players, which may exceed {@code out.length}
+     */
+    public int queryRadius(Location center, double radius, Team team, Player[] out) {
+        LongMap<Cell> cells = cellsOf(center);
+        if (cells == null) return 0;
+
+        double x = center.getX();
+        double y = center.getY();
+        double z = center.getZ();
+        double radiusSquared = radius * radius;
+        int found = 0;
+
+        int minCellX = floor(x - radius) >> CELL_BITS;
+        int maxCellX = floor(x + radius) >> CELL_BITS;
+        int minCellZ = floor(z - radius) >> CELL_BITS;
+        int maxCellZ = floor(z + radius) >> CELL_BITS;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                Cell cell = cells.get(cellKey(cellX, cellZ));
+                if (cell == null) continue;
+
+                for (int i = 0; i < cell.size; i++) {
+                    Entry entry = cell.entries[i];
+                    if (team != null && entry.team != team) continue;
+
+                    double dx = entry.x - x;
+                    double dy = entry.y - y;
+                    double dz = entry.z - z;
+                    if (dx * dx + dy * dy + dz * dz > radiusSquared) continue;
+
+                    if (out != null && found < out.length) {
+                        out[found] = entry.player;
+                    }
+                    found++;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Collects the players inside the box spanned by {@code min} and {@code max} (inclusive).
+     *
+     * @see #queryRadius(Location, double, Team, Player[])
+     */
+    public int queryBox(Location min, Location max, Team team, Player[] out) {
+        LongMap<Cell> cells = cellsOf(min);
+        if (cells == null) return 0;
+
+        double minX = Math.min(min.getX(), max.getX());
+        double minY = Math.min(min.getY(), max.getY());
+        double minZ = Math.min(min.getZ(), max.getZ());
+        double maxX = Math.max(min.getX(), max.getX());
+        double maxY = Math.max(min.getY(), max.getY());
+        double maxZ = Math.max(min.getZ(), max.getZ());
+        int found = 0;
+
+        for (int cellX = floor(minX) >> CELL_BITS; cellX <= floor(maxX) >> CELL_BITS; cellX++) {
+            for (int cellZ = floor(minZ) >> CELL_BITS; cellZ <= floor(maxZ) >> CELL_BITS; cellZ++) {
+                Cell cell = cells.get(cellKey(cellX, cellZ));
+                if (cell == null) continue;
+
+                for (int i = 0; i < cell.size; i++) {
+                    Entry entry = cell.entries[i];
+                    if (team != null && entry.team != team) continue;
+                    if (entry.x < minX || entry.x > maxX || entry.y < minY || entry.y > maxY
+                            || entry.z < minZ || entry.z > maxZ) continue;
+
+                    if (out != null && found < out.length) {
+                        out[found] = entry.player;
+                    }
+                    found++;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    public int countWithin(Location center, double radius, Team team) {
+        return queryRadius(center, radius, team, null);
+    }
+
+    private LongMap<Cell> cellsOf(Location location) {
+        return location.getWorld() != null ? worlds.get(location.getWorld().getUID()) : null;
+    }
+
+    private static int floor(double value) {
+        return (int) Math.floor(value);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static class Cell {
+        private final LongMap<Cell> cells; // The world's table holding this cell
+        private final long key;
+        private Entry[] entries = new Entry[4];
+        private int size;
+
+        private Cell(LongMap<Cell> cells, long key) {
+            this.cells = cells;
+            this.key = key;
+        }
+
+        private void add(Entry entry) {
+            if (size == entries.length) {
+                Entry[] grown = new Entry[size * 2];
+                System.arraycopy(entries, 0, grown, 0, size);
+                entries = grown;
+            }
+            entry.cell = this;
+            entry.index = size;
+            entries[size++] = entry;
+        }
+
+        // Swap-remove, the last entry takes the freed index
+        private void remove(Entry entry) {
+            Entry last = entries[--size];
+            entries[entry.index] = last;
+            last.index = entry.index;
+            entries[size] = null;
+            entry.cell = null;
+        }
+    }
+
+    private static class Entry {
+        private final Player player;
+        private Team team;
+        private double x, y, z;
+        private Cell cell;
+        private int index;
+
+        private Entry(Player player) {
+            this.player = player;
+        }
+    }
+}
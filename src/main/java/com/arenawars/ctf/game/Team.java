@@ -8,6 +8,7 @@ package com.arenawars.ctf.game;
 import com.arenawars.ctf.managers.ColorManager;
 import net.kyori.adventure.text.Component;
 import org.bukkit.ChatColor;
+import org.bukkit.Color;
 
 public enum Team {
     RED(ChatColor.RED, "Red Team", "c"),
@@ -52,6 +53,10 @@ public enum Team {
         return colorManager.getTeamColor(name().toUpperCase(), colorCode);
     }
     
+    public Color getArmorColor() {
+        return this == RED ? Color.RED : Color.BLUE;
+    }
+    
     public Team getOpposite() {
         return this == RED ? BLUE : RED;
     }
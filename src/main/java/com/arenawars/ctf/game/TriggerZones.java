@@ -0,0 +1,172 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.game;
+
+import com.arenawars.ctf.utils.LongMap;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * Trigger volumes of one game (flag bases, dropped flags and return points).
+ *
+ * Each zone is compiled once into a world id, a block-aligned bounding box and a squared
+ * radius, and registered in every 8x8x8 cell its box touches. A lookup only reads the zones
+ * of a single cell from a primitive-keyed table, so it neither allocates nor takes a square
+ * root, and callers can afford to run it each time a player enters a new block. Main thread only.
+ */
+public class TriggerZones {
+
+    public enum Type {
+        FLAG,   // Where a team's flag currently stands or lies
+        RETURN  // Where a team brings captured flags
+    }
+
+    private static final int CELL_BITS = 3;
+
+    private final LongMap<List<Zone>> cells;
+
+    public TriggerZones() {
+        this.cells = new LongMap<>();
+    }
+
+    public Zone create(Type type, Team team, double radius) {
+        return new Zone(this, type, team, radius);
+    }
+
+    /**
+     * Returns the active zones of the cell holding the given block; callers still check
+     * {@link Zone#contains(UUID, int, int, int)} on each candidate.
+     */
+    public List<Zone> getCandidates(int x, int y, int z) {
+        List<Zone> zones = cells.get(cellKey(x >> CELL_BITS, y >> CELL_BITS, z >> CELL_BITS));
+        return zones != null ? zones : Collections.emptyList();
+    }
+
+    public void clear() {
+        cells.clear();
+    }
+
+    private static long cellKey(int cellX, int cellY, int cellZ) {
+        return ((long) (cellX & 0x1FFFFF) << 42) | ((long) (cellY & 0x1FFFFF) << 21) | (cellZ & 0x1FFFFF);
+    }
+
+    private void index(Zone zone) {
+        forEachCell(zone, key -> {
+            List<Zone> zones = cells.get(key);
+            if (zones == null) {
+                zones = new ArrayList<>(2);
+                cells.put(key, zones);
+            }
+            zones.add(zone);
+        });
+    }
+
+    private void unindex(Zone zone) {
+        forEachCell(zone, key -> {
+            List<Zone> zones = cells.get(key);
+            if (zones != null && zones.remove(zone) && zones.isEmpty()) {
+                cells.remove(key);
+            }
+        });
+    }
+
+    private void forEachCell(Zone zone, LongConsumer action) {
+        for (int cx = zone.minX >> CELL_BITS; cx <= zone.maxX >> CELL_BITS; cx++) {
+            for (int cy = zone.minY >> CELL_BITS; cy <= zone.maxY >> CELL_BITS; cy++) {
+                for (int cz = zone.minZ >> CELL_BITS; cz <= zone.maxZ >> CELL_BITS; cz++) {
+                    action.accept(cellKey(cx, cy, cz));
+                }
+            }
+        }
+    }
+
+    /**
+     * A sphere around a point, tested against the centre of a block's floor
+     * (where a player standing in that block is).
+     */
+    public static class Zone {
+        private final TriggerZones owner;
+        private final Type type;
+        private final Team team;
+        private final double radius;
+        private final double radiusSquared;
+
+        private boolean active;
+        private UUID worldId;
+        private double centerX, centerY, centerZ;
+        private int minX, minY, minZ, maxX, maxY, maxZ;
+
+        private Zone(TriggerZones owner, Type type, Team team, double radius) {
+            this.owner = owner;
+            this.type = type;
+            this.team = team;
+            this.radius = radius;
+            this.radiusSquared = radius * radius;
+        }
+
+        /**
+         * Moves the zone to {@code center}, or disables it when {@code center} is null or has no world.
+         */
+        public void moveTo(Location center) {
+            if (active) {
+                owner.unindex(this);
+                active = false;
+            }
+            if (center == null || center.getWorld() == null) return;
+
+            worldId = center.getWorld().getUID();
+            centerX = center.getX();
+            centerY = center.getY();
+            centerZ = center.getZ();
+
+            minX = (int) Math.floor(centerX - radius - 0.5);
+            maxX = (int) Math.floor(centerX + radius - 0.5);
+            minY = (int) Math.floor(centerY - radius);
+            maxY = (int) Math.floor(centerY + radius);
+            minZ = (int) Math.floor(centerZ - radius - 0.5);
+            maxZ = (int) Math.floor(centerZ + radius - 0.5);
+
+            owner.index(this);
+            active = true;
+        }
+
+        public void disable() {
+            moveTo(null);
+        }
+
+        public boolean contains(UUID world, int x, int y, int z) {
+            if (!active || !worldId.equals(world)) return false;
+            if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) return false;
+
+            double dx = x + 0.5 - centerX;
+            double dy = y - centerY;
+            double dz = z + 0.5 - centerZ;
+            return dx * dx + dy * dy + dz * dz <= radiusSquared;
+        }
+
+        public boolean contains(Location location) {
+            return location.getWorld() != null && contains(location.getWorld().getUID(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Team getTeam() {
+            return team;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
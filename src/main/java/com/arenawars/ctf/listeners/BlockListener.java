@@ -7,10 +7,13 @@ package com.arenawars.ctf.listeners;
 
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.sk89q.worldguard.WorldGuard;
-import com.sk89q.worldguard.protection.ApplicableRegionSet;
 import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
 import com.sk89q.worldedit.math.BlockVector3;
+import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -18,12 +21,27 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 public class BlockListener implements Listener {
 
+    // Regions can be edited while the server runs, so a world's cached regions are reloaded after this long
+    private static final long REGION_CACHE_TTL_MS = 30000L;
+
     private final ArenaWarsCTF plugin;
+    private final Map<UUID, WorldProtection> worlds;
+    private final Set<String> loggedWarnings;
 
     public BlockListener(ArenaWarsCTF plugin) {
         this.plugin = plugin;
+        this.worlds = new HashMap<>();
+        this.loggedWarnings = new HashSet<>();
     }
 
     @EventHandler(priority = EventPriority.HIGH)
@@ -37,17 +55,8 @@ public class BlockListener implements Listener {
             }
         }
 
-        // Check if in arena world
-        if (plugin.getArenaManager().isArenaWorld(event.getBlock().getWorld().getName())) {
-            // Cancel block breaking in arena worlds unless admin
-            if (!player.hasPermission("arenawars.ctf.admin")) {
-                event.setCancelled(true);
-                return;
-            }
-        }
-
-        // Use WorldGuard regions if available
-        if (isInProtectedRegion(player, event.getBlock().getLocation())) {
+        // Cancel block breaking in arena worlds and arena regions unless admin
+        if (isProtected(event.getBlock())) {
             if (!player.hasPermission("arenawars.ctf.admin")) {
                 event.setCancelled(true);
             }
@@ -65,46 +74,110 @@ public class BlockListener implements Listener {
             }
         }
 
-        // Check if in arena world
-        if (plugin.getArenaManager().isArenaWorld(event.getBlock().getWorld().getName())) {
-            // Cancel block placing in arena worlds unless admin
+        // Cancel block placing in arena worlds and arena regions unless admin
+        if (isProtected(event.getBlock())) {
             if (!player.hasPermission("arenawars.ctf.admin")) {
                 event.setCancelled(true);
-                return;
             }
         }
+    }
 
-        // Use WorldGuard regions if available
-        if (isInProtectedRegion(player, event.getBlock().getLocation())) {
-            if (!player.hasPermission("arenawars.ctf.admin")) {
-                event.setCancelled(true);
+    private boolean isProtected(Block block) {
+        World world = block.getWorld();
+        WorldProtection protection = worlds.get(world.getUID());
+
+        if (protection == null || protection.isStale(plugin.getArenaManager().getRevision())) {
+            protection = loadProtection(world);
+            worlds.put(world.getUID(), protection);
+        }
+
+        if (protection.arenaWorld) return true;
+
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        for (CachedRegion region : protection.regions) {
+            if (region.contains(x, y, z)) {
+                return true;
             }
         }
+        return false;
     }
 
-    private boolean isInProtectedRegion(Player player, org.bukkit.Location location) {
-        try {
-            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-            RegionManager regions = container.get(com.sk89q.worldedit.bukkit.BukkitAdapter.adapt(location.getWorld()));
-
-            if (regions != null) {
-                // Use BlockVector3 instead of Location.at()
-                BlockVector3 vector = BlockVector3.at(location.getX(), location.getY(), location.getZ());
-                ApplicableRegionSet set = regions.getApplicableRegions(vector);
-
-                // Check if any region has build deny flag or is arena region
-                for (com.sk89q.worldguard.protection.regions.ProtectedRegion region : set) {
-                    String regionName = region.getId().toLowerCase();
-                    if (regionName.contains("arena") || regionName.contains("ctf")) {
-                        return true;
+    private WorldProtection loadProtection(World world) {
+        boolean arenaWorld = plugin.getArenaManager().isArenaWorld(world);
+        List<CachedRegion> regions = new ArrayList<>();
+
+        // Arena worlds are protected as a whole, their regions don't matter
+        if (!arenaWorld) {
+            try {
+                RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+                RegionManager manager = container.get(com.sk89q.worldedit.bukkit.BukkitAdapter.adapt(world));
+
+                if (manager != null) {
+                    for (ProtectedRegion region : manager.getRegions().values()) {
+                        String regionName = region.getId().toLowerCase();
+                        if (regionName.contains("arena") || regionName.contains("ctf")) {
+                            regions.add(new CachedRegion(region));
+                        }
                     }
                 }
+            } catch (Exception e) {
+                // WorldGuard integration failed, fallback to basic protection
+                warnOnce("WorldGuard integration error: " + e.getMessage());
             }
-        } catch (Exception e) {
-            // WorldGuard integration failed, fallback to basic protection
-            plugin.getLogger().warning("WorldGuard integration error: " + e.getMessage());
         }
 
-        return false;
+        return new WorldProtection(arenaWorld, regions.toArray(new CachedRegion[0]), plugin.getArenaManager().getRevision());
+    }
+
+    private void warnOnce(String message) {
+        if (loggedWarnings.add(message)) {
+            plugin.getLogger().warning(message + " (further identical warnings are suppressed)");
+        }
+    }
+
+    private static class WorldProtection {
+        private final boolean arenaWorld;
+        private final CachedRegion[] regions;
+        private final int arenaRevision;
+        private final long loadedAt;
+
+        private WorldProtection(boolean arenaWorld, CachedRegion[] regions, int arenaRevision) {
+            this.arenaWorld = arenaWorld;
+            this.regions = regions;
+            this.arenaRevision = arenaRevision;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        private boolean isStale(int currentRevision) {
+            return arenaRevision != currentRevision || System.currentTimeMillis() - loadedAt > REGION_CACHE_TTL_MS;
+        }
+    }
+
+    // A region with its bounding box; cuboids are fully decided by the box
+    private static class CachedRegion {
+        private final ProtectedRegion region;
+        private final boolean cuboid;
+        private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+        private CachedRegion(ProtectedRegion region) {
+            BlockVector3 min = region.getMinimumPoint();
+            BlockVector3 max = region.getMaximumPoint();
+
+            this.region = region;
+            this.cuboid = region instanceof ProtectedCuboidRegion;
+            this.minX = min.getBlockX();
+            this.minY = min.getBlockY();
+            this.minZ = min.getBlockZ();
+            this.maxX = max.getBlockX();
+            this.maxY = max.getBlockY();
+            this.maxZ = max.getBlockZ();
+        }
+
+        private boolean contains(int x, int y, int z) {
+            if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) return false;
+            return cuboid || region.contains(x, y, z);
+        }
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ package com.arenawars.ctf.listeners;
 
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.game.CTFGame;
+import com.arenawars.ctf.managers.PlayerSession;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -59,23 +60,24 @@ public class GameListener implements Listener {
         }
         
         // Handle damage in games
-        if (plugin.getPlayerManager().isInArena(player)) {
-            CTFGame game = plugin.getGameManager().getPlayerGame(player);
+        PlayerSession session = plugin.getPlayerManager().getSession(player);
+        if (session != null) {
+            CTFGame game = session.getGame();
             
             // Prevent damage before game starts
-            if (game == null || !game.isGameStarted()) {
+            if (!game.isGameStarted()) {
                 event.setCancelled(true);
                 return;
             }
             
             // Check spawn protection
-            if (plugin.getPlayerManager().hasSpawnProtection(player)) {
+            if (session.hasSpawnProtection()) {
                 event.setCancelled(true);
                 return;
             }
             
             // Prevent fall damage in spectator mode
-            if (plugin.getRespawnManager().isInRespawnQueue(player)) {
+            if (session.isRespawning()) {
                 event.setCancelled(true);
                 return;
             }
@@ -7,6 +7,8 @@ package com.arenawars.ctf.listeners;
 
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.game.CTFGame;
+import com.arenawars.ctf.managers.PlayerSession;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -26,10 +28,34 @@ public class PlayerListener implements Listener {
         this.plugin = plugin;
     }
     
-    @EventHandler
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        
+        // Load stats off the main thread before the player joins
+        plugin.getPlayerManager().preloadPlayerData(event.getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        // Refused after the pre-login (whitelist, ban, full server), so the player never joins
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getPlayerManager().discardPreload(event.getPlayer().getUniqueId());
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         
+        // Kicked when their stats could not be loaded in time
+        if (plugin.getPlayerManager().activatePlayerData(player) == null) {
+            return;
+        }
+        plugin.getChatManager().refreshProfile(player);
+        
         // Create lobby scoreboard
         plugin.getLobbyManager().createLobbyScoreboard(player);
         
@@ -58,21 +84,27 @@ public class PlayerListener implements Listener {
         if (plugin.getArenaManager().isInSetup(player)) {
             plugin.getArenaManager().endSetup(player);
         }
+        
+        // Unpin stats last, leaving the game may still have updated them
+        plugin.getChatManager().removeProfile(player);
+        plugin.getPlayerManager().releasePlayerData(player);
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerDeath(PlayerDeathEvent event) {
         Player player = event.getEntity();
         
-        if (!plugin.getPlayerManager().isInArena(player)) {
+        PlayerSession session = plugin.getPlayerManager().getSession(player);
+        if (session == null) {
             return;
         }
         
         // Award kill to the killer if there is one
         Player killer = player.getKiller();
-        if (killer != null && plugin.getPlayerManager().isInArena(killer)) {
+        if (killer != null) {
             // Check if they're on different teams
-            if (plugin.getPlayerManager().getPlayerTeam(killer) != plugin.getPlayerManager().getPlayerTeam(player)) {
+            PlayerSession killerSession = plugin.getPlayerManager().getSession(killer);
+            if (killerSession != null && !killerSession.isTeammate(session)) {
                 plugin.getPlayerManager().addKill(killer);
             }
         }
@@ -95,29 +127,29 @@ public class PlayerListener implements Listener {
         Player victim = (Player) event.getEntity();
         Player attacker = (Player) event.getDamager();
         
-        // Check if both players are in the same arena
-        String victimArena = plugin.getPlayerManager().getPlayerArena(victim);
-        String attackerArena = plugin.getPlayerManager().getPlayerArena(attacker);
+        // Check if both players are in the same game
+        PlayerSession victimSession = plugin.getPlayerManager().getSession(victim);
+        PlayerSession attackerSession = plugin.getPlayerManager().getSession(attacker);
         
-        if (victimArena == null || attackerArena == null || !victimArena.equals(attackerArena)) {
+        if (victimSession == null || !victimSession.isInGame(attackerSession)) {
             return;
         }
         
         // Check if they're on the same team
-        if (plugin.getPlayerManager().getPlayerTeam(victim) == plugin.getPlayerManager().getPlayerTeam(attacker)) {
+        if (victimSession.isTeammate(attackerSession)) {
             event.setCancelled(true);
             return;
         }
         
         // Check spawn protection for victim
-        if (plugin.getPlayerManager().hasSpawnProtection(victim)) {
+        if (victimSession.hasSpawnProtection()) {
             event.setCancelled(true);
             return;
         }
         
         // Remove spawn protection from attacker if configured
         if (plugin.getConfigManager().isSpawnProtectionRemoveOnHit()) {
-            if (plugin.getPlayerManager().hasSpawnProtection(attacker)) {
+            if (attackerSession.hasSpawnProtection()) {
                 plugin.getPlayerManager().removeSpawnProtection(attacker);
             }
         }
@@ -248,20 +280,24 @@ public class PlayerListener implements Listener {
     
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        
+        // Trigger zones are block-aligned, so looking around or moving within a block can't enter one
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                && from.getBlockZ() == to.getBlockZ() && from.getWorld() == to.getWorld()) {
+            return;
+        }
         
         // Check for flag interactions on movement
-        if (plugin.getPlayerManager().isInArena(player)) {
-            CTFGame game = plugin.getGameManager().getPlayerGame(player);
-            if (game != null && game.isGameStarted()) {
+        PlayerSession session = plugin.getPlayerManager().getSession(event.getPlayer());
+        if (session != null) {
+            CTFGame game = session.getGame();
+            game.updatePlayerPosition(session, to);
+            
+            if (game.isGameStarted() && !game.isGameEnded()) {
                 // Check for flag pickup/capture on movement
-                if (game.attemptFlagPickup(player, event.getTo())) {
-                    return;
-                }
-                
-                if (game.attemptFlagCapture(player, event.getTo())) {
-                    return;
-                }
+                game.checkTriggers(session, to);
             }
         }
     }
@@ -277,6 +313,15 @@ public class PlayerListener implements Listener {
         }
     }
     
+    // Keeps the arena's player grid in sync, once no other handler can cancel the teleport
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleported(PlayerTeleportEvent event) {
+        PlayerSession session = plugin.getPlayerManager().getSession(event.getPlayer());
+        if (session != null) {
+            session.getGame().updatePlayerPosition(session, event.getTo());
+        }
+    }
+    
     @EventHandler
     public void onPlayerCommandPreprocess(PlayerCommandPreprocessEvent event) {
         Player player = event.getPlayer();
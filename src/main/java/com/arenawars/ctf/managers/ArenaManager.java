@@ -10,23 +10,32 @@ import com.arenawars.ctf.arena.Arena;
 import com.arenawars.ctf.arena.ArenaSetup;
 import com.arenawars.ctf.arena.ArenaState;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 public class ArenaManager {
     
     private final ArenaWarsCTF plugin;
     private final Map<String, Arena> arenas;
+    private final Map<UUID, List<Arena>> arenasByWorld; // Filled lazily, cleared whenever arenas change
     private final ArenaSetup arenaSetup;
+    private int revision;
     
     public ArenaManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
         this.arenas = new HashMap<>();
+        this.arenasByWorld = new HashMap<>();
         this.arenaSetup = new ArenaSetup(plugin);
         
         loadAllArenas();
@@ -54,6 +63,20 @@ public class ArenaManager {
         }
         
         plugin.getLogger().info("Loaded " + arenas.size() + " arenas");
+        invalidateWorldIndex();
+    }
+    
+    private void invalidateWorldIndex() {
+        arenasByWorld.clear();
+        revision++;
+    }
+    
+    /**
+     * Incremented whenever arenas are added, removed, reloaded or saved, so callers
+     * that cache per-world data know when to rebuild it.
+     */
+    public int getRevision() {
+        return revision;
     }
     
     public void saveAllArenas() {
@@ -63,6 +86,9 @@ public class ArenaManager {
     }
     
     public void saveArena(Arena arena) {
+        // Setup saves through here, so the world or bounds may have changed
+        invalidateWorldIndex();
+        
         File file = new File(plugin.getConfigManager().getArenasFolder(), arena.getName() + ".yml");
         
         try {
@@ -84,6 +110,8 @@ public class ArenaManager {
     public void removeArena(String name) {
         Arena arena = arenas.remove(name.toLowerCase());
         if (arena != null) {
+            invalidateWorldIndex();
+            
             File file = new File(plugin.getConfigManager().getArenasFolder(), arena.getName() + ".yml");
             if (file.exists()) {
                 file.delete();
@@ -163,21 +191,47 @@ public class ArenaManager {
     
     public void reloadArenas() {
         arenas.clear();
+        invalidateWorldIndex();
         loadAllArenas();
     }
     
-    public boolean isArenaWorld(String worldName) {
+    /**
+     * Returns the arenas set up in {@code world}. The first call per world scans the arenas,
+     * later ones are a single lookup by world UID.
+     */
+    public List<Arena> getArenasInWorld(World world) {
+        List<Arena> worldArenas = arenasByWorld.get(world.getUID());
+        if (worldArenas != null) return worldArenas;
+        
+        worldArenas = new ArrayList<>();
         for (Arena arena : arenas.values()) {
-            if (arena.getWorldName() != null && arena.getWorldName().equals(worldName)) {
-                return true;
+            if (world.getName().equals(arena.getWorldName())) {
+                worldArenas.add(arena);
             }
         }
-        return false;
+        worldArenas = worldArenas.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(worldArenas);
+        
+        arenasByWorld.put(world.getUID(), worldArenas);
+        return worldArenas;
     }
     
-    public Arena getArenaByWorld(String worldName) {
-        for (Arena arena : arenas.values()) {
-            if (arena.getWorldName() != null && arena.getWorldName().equals(worldName)) {
+    public boolean isArenaWorld(World world) {
+        return !getArenasInWorld(world).isEmpty();
+    }
+    
+    public Arena getArenaByWorld(World world) {
+        List<Arena> worldArenas = getArenasInWorld(world);
+        return worldArenas.isEmpty() ? null : worldArenas.get(0);
+    }
+    
+    /**
+     * Returns the arena whose bounds contain {@code location}, or null.
+     */
+    public Arena getArenaAt(Location location) {
+        if (location.getWorld() == null) return null;
+        
+        for (Arena arena : getArenasInWorld(location.getWorld())) {
+            if (arena.contains(location.getBlockX(), location.getBlockY(), location.getBlockZ())) {
                 return arena;
             }
         }
@@ -7,133 +7,139 @@ package com.arenawars.ctf.managers;
 
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.game.Team;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Routes chat to the sender's lobby, arena or team (messages starting with {@code @}).
+ *
+ * Chat events run on Paper's async chat thread, so the handler only reads thread-safe state:
+ * game sessions from {@link PlayerManager} and an immutable {@link ChatProfile} per player,
+ * which is rebuilt on the main thread when the player joins or their level changes. Each
+ * message is formatted and colorized once; delivery is left to the event, narrowed down by
+ * removing the viewers outside the scope.
+ */
 public class ChatManager implements Listener {
     
+    private static final PlainTextComponentSerializer PLAIN = PlainTextComponentSerializer.plainText();
+    
     private final ArenaWarsCTF plugin;
     private final ColorManager colorManager;
+    private final Map<UUID, ChatProfile> profiles; // Written on the main thread, read by the async chat thread
     
     public ChatManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
         this.colorManager = new ColorManager();
+        this.profiles = new ConcurrentHashMap<>();
+        
+        // Players already online during a reload
+        refreshAllProfiles();
     }
     
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onPlayerChat(AsyncPlayerChatEvent event) {
-        Player sender = event.getPlayer();
-        String message = event.getMessage();
-        
-        // Cancel the default chat
-        event.setCancelled(true);
-        
-        // Determine chat scope and format
-        String arenaName = plugin.getPlayerManager().getPlayerArena(sender);
+    /**
+     * Rebuilds the player's chat profile; call on the main thread after their level may have changed.
+     */
+    public void refreshProfile(Player player) {
+        PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
+        if (data == null) return;
+        
+        int level = plugin.getXPManager().getLevel(data);
+        String levelColor = colorManager.getLevelColor(level);
         
-        if (arenaName != null) {
-            // Player is in an arena - arena-specific chat
-            handleArenaChat(sender, message, arenaName);
-        } else {
-            // Player is in lobby - lobby chat
-            handleLobbyChat(sender, message);
-        }
+        profiles.put(player.getUniqueId(), new ChatProfile(
+            levelColor + "[" + level + "] ",
+            levelColor + "[" + level + " " + plugin.getXPManager().getLevelTitle(level) + "] "));
     }
     
-    private void handleArenaChat(Player sender, String message, String arenaName) {
-        Team senderTeam = plugin.getPlayerManager().getPlayerTeam(sender);
-        
-        // Check if it's team chat (message starts with @)
-        if (message.startsWith("@") && senderTeam != null) {
-            handleTeamChat(sender, message.substring(1).trim(), arenaName, senderTeam);
-            return;
-        }
-        
-        // Arena-wide chat
-        String formattedMessage = formatArenaMessage(sender, message, senderTeam);
-        
-        // Send to all players in the same arena
-        Set<Player> recipients = new HashSet<>(plugin.getPlayerManager().getPlayersInArena(arenaName));
-        
-        for (Player recipient : recipients) {
-            if (recipient.isOnline()) {
-                Component messageComponent = colorManager.colorizeForChat(formattedMessage);
-                recipient.sendMessage(messageComponent);
-            }
+    /**
+     * Rebuilds every online player's profile, e.g. after a reload changed the level curve.
+     */
+    public void refreshAllProfiles() {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            refreshProfile(player);
         }
-        
-        // Log to console
-        plugin.getLogger().info("[Arena:" + arenaName + "] " + sender.getName() + ": " + message);
     }
     
-    private void handleTeamChat(Player sender, String message, String arenaName, Team team) {
-        String formattedMessage = formatTeamMessage(sender, message, team);
-        
-        // Send only to team members
-        for (Player teammate : plugin.getPlayerManager().getPlayersInTeam(team, arenaName)) {
-            if (teammate.isOnline()) {
-                Component messageComponent = colorManager.colorizeForChat(formattedMessage);
-                teammate.sendMessage(messageComponent);
-            }
-        }
-        
-        // Log to console
-        plugin.getLogger().info("[Team:" + team.name() + "@" + arenaName + "] " + sender.getName() + ": " + message);
+    public void removeProfile(Player player) {
+        profiles.remove(player.getUniqueId());
     }
     
-    private void handleLobbyChat(Player sender, String message) {
-        String formattedMessage = formatLobbyMessage(sender, message);
-        
-        // Send to all lobby players (not in any arena)
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            if (!plugin.getPlayerManager().isInArena(player)) {
-                Component messageComponent = colorManager.colorizeForChat(formattedMessage);
-                player.sendMessage(messageComponent);
-            }
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onPlayerChat(AsyncChatEvent event) {
+        Player sender = event.getPlayer();
+        String message = PLAIN.serialize(event.message());
+        ChatProfile profile = profiles.get(sender.getUniqueId()); // Null until their stats are loaded
+        Set<Audience> viewers = event.viewers();
+        
+        PlayerSession session = plugin.getPlayerManager().getSession(sender);
+        
+        String formattedMessage;
+        String logMessage;
+        
+        if (session == null) {
+            // Player is in lobby - lobby chat, seen by everyone not in an arena
+            formattedMessage = formatLobbyMessage(sender, message, profile);
+            logMessage = "[Lobby] " + sender.getName() + ": " + message;
+            
+            viewers.removeIf(viewer -> viewer instanceof Player
+                && plugin.getPlayerManager().isInArena((Player) viewer));
+        } else if (message.startsWith("@")) {
+            // Team chat, seen only by team members
+            Team team = session.getTeam();
+            message = message.substring(1).trim();
+            formattedMessage = formatTeamMessage(sender, message, team, profile);
+            logMessage = "[Team:" + team.name() + "@" + session.getArenaName() + "] " + sender.getName() + ": " + message;
+            
+            viewers.removeIf(viewer -> viewer instanceof Player
+                && !session.isTeammate(plugin.getPlayerManager().getSession((Player) viewer)));
+        } else {
+            // Arena-wide chat, seen by all players in the same game
+            formattedMessage = formatArenaMessage(sender, message, session.getTeam(), profile);
+            logMessage = "[Arena:" + session.getArenaName() + "] " + sender.getName() + ": " + message;
+            
+            viewers.removeIf(viewer -> viewer instanceof Player
+                && !session.isInGame(plugin.getPlayerManager().getSession((Player) viewer)));
         }
         
-        // Log to console
-        plugin.getLogger().info("[Lobby] " + sender.getName() + ": " + message);
+        // Rendered once here, every player viewer gets the same component; the console gets the log line
+        Component rendered = colorManager.colorizeForChat(formattedMessage);
+        Component logged = Component.text(logMessage);
+        event.renderer((source, sourceDisplayName, original, viewer) ->
+            viewer instanceof Player ? rendered : logged);
     }
     
-    private String formatArenaMessage(Player sender, String message, Team team) {
-        // Get player level and title
-        PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(sender);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
-        String levelColor = colorManager.getLevelColor(level);
-        
+    private String formatArenaMessage(Player sender, String message, Team team, ChatProfile profile) {
         String teamPrefix = "";
         if (team != null) {
             teamPrefix = team.getColoredName() + " ";
         }
         
-        return "&8[&6Arena&8] " + teamPrefix + levelColor + "[" + level + "] &f" + sender.getName() + "&8: &7" + message;
+        return "&8[&6Arena&8] " + teamPrefix + levelTag(profile) + "&f" + sender.getName() + "&8: &7" + message;
     }
     
-    private String formatTeamMessage(Player sender, String message, Team team) {
-        // Get player level
-        PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(sender);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
-        String levelColor = colorManager.getLevelColor(level);
-        
-        return "&8[" + team.getColoredName() + " TEAM&8] " + levelColor + "[" + level + "] &f" + sender.getName() + "&8: &f" + message;
+    private String formatTeamMessage(Player sender, String message, Team team, ChatProfile profile) {
+        return "&8[" + team.getColoredName() + " TEAM&8] " + levelTag(profile) + "&f" + sender.getName() + "&8: &f" + message;
     }
     
-    private String formatLobbyMessage(Player sender, String message) {
-        // Get player level and title
-        PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(sender);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
-        String levelColor = colorManager.getLevelColor(level);
-        String levelTitle = plugin.getXPManager().getLevelTitle(level);
-        
-        return "&8[&bLobby&8] " + levelColor + "[" + level + " " + levelTitle + "] &f" + sender.getName() + "&8: &7" + message;
+    private String formatLobbyMessage(Player sender, String message, ChatProfile profile) {
+        String levelTag = profile != null ? profile.lobbyLevelTag : "";
+        return "&8[&bLobby&8] " + levelTag + "&f" + sender.getName() + "&8: &7" + message;
+    }
+    
+    // No level is shown rather than a made-up one while the profile is not loaded
+    private static String levelTag(ChatProfile profile) {
+        return profile != null ? profile.levelTag : "";
     }
     
     // Public method for system messages to specific arenas
@@ -168,4 +174,18 @@ public class ChatManager implements Listener {
             }
         }
     }
+    
+    /**
+     * What chat shows about a player, taken as one immutable snapshot so the async chat
+     * thread never reads their live stats.
+     */
+    private static final class ChatProfile {
+        private final String levelTag;      // "[12] " in the level color
+        private final String lobbyLevelTag; // "[12 Experienced] " in the level color
+        
+        private ChatProfile(String levelTag, String lobbyLevelTag) {
+            this.levelTag = levelTag;
+            this.lobbyLevelTag = lobbyLevelTag;
+        }
+    }
 }
\ No newline at end of file
@@ -5,84 +5,40 @@
 
 package com.arenawars.ctf.managers;
 
+import com.arenawars.ctf.utils.LegacyColors;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.TextColor;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
-import org.bukkit.ChatColor;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * Centralized color management system for the ArenaWarsCTF plugin.
  * Handles all color code processing, conversion, and formatting consistently.
+ * The parsing itself is done by {@link LegacyColors}, which also caches repeated inputs.
  */
 public class ColorManager {
     
-    private final LegacyComponentSerializer ampersandSerializer;
-    private final LegacyComponentSerializer sectionSerializer;
-    
-    // Hex color pattern for modern Minecraft versions
-    private static final Pattern HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
-    
-    public ColorManager() {
-        this.ampersandSerializer = LegacyComponentSerializer.legacyAmpersand();
-        this.sectionSerializer = LegacyComponentSerializer.legacySection();
-    }
-    
     /**
      * Converts color codes to Adventure Component (for modern messaging)
      */
     public Component colorize(String text) {
-        if (text == null || text.isEmpty()) {
-            return Component.empty();
-        }
-        
-        // Process hex colors first
-        String processedText = processHexColors(text);
-        
-        // Convert section symbols to ampersand for consistent processing
-        processedText = processedText.replace('§', '&');
-        
-        return ampersandSerializer.deserialize(processedText);
+        return LegacyColors.toComponent(text);
     }
     
     /**
      * Converts color codes to legacy ChatColor format (for older systems)
      */
     public String toLegacy(String text) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-        
-        // Process hex colors first
-        String processedText = processHexColors(text);
-        
-        // Convert ampersand to section symbols
-        processedText = processedText.replace('&', '§');
-        
-        return ChatColor.translateAlternateColorCodes('§', processedText);
+        return LegacyColors.toLegacy(text);
     }
     
     /**
      * Strips all color codes from text
      */
     public String stripColors(String text) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-        
-        // Remove hex colors
-        String stripped = HEX_PATTERN.matcher(text).replaceAll("");
-        
-        // Remove legacy color codes
-        stripped = stripped.replaceAll("[&§][0-9a-fk-orA-FK-OR]", "");
-        
-        return stripped;
+        return LegacyColors.strip(text);
     }
     
     /**
@@ -171,25 +127,6 @@ public class ColorManager {
         return "&7";                   // Gray
     }
     
-    /**
-     * Processes hex color codes for modern Minecraft support
-     */
-    private String processHexColors(String text) {
-        Matcher matcher = HEX_PATTERN.matcher(text);
-        StringBuffer buffer = new StringBuffer();
-        
-        while (matcher.find()) {
-            String hexCode = matcher.group(1);
-            matcher.appendReplacement(buffer, "§x§" + 
-                hexCode.charAt(0) + "§" + hexCode.charAt(1) + "§" +
-                hexCode.charAt(2) + "§" + hexCode.charAt(3) + "§" +
-                hexCode.charAt(4) + "§" + hexCode.charAt(5));
-        }
-        
-        matcher.appendTail(buffer);
-        return buffer.toString();
-    }
-    
     /**
      * Format a message with placeholders and colors
      */
@@ -9,6 +9,9 @@ import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.arena.Arena;
 import com.arenawars.ctf.arena.ArenaState;
 import com.arenawars.ctf.game.CTFGame;
+import com.arenawars.ctf.utils.BroadcastQueue;
+import com.arenawars.ctf.utils.TeleportPipeline;
+import com.arenawars.ctf.utils.TimingWheel;
 import org.bukkit.entity.Player;
 
 import java.util.HashMap;
@@ -18,10 +21,31 @@ public class GameManager {
     
     private final ArenaWarsCTF plugin;
     private final Map<String, CTFGame> activeGames; // Arena name -> Game
+    private final TimingWheel timers; // All game timers, owned by their game
+    private final BroadcastQueue broadcasts; // Game and team audiences, flushed at the end of each tick
+    private final TeleportPipeline teleports; // Staggered async teleports of all games
     
     public GameManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
         this.activeGames = new HashMap<>();
+        this.timers = new TimingWheel(plugin.getLogger());
+        this.broadcasts = new BroadcastQueue();
+        this.teleports = new TeleportPipeline(plugin);
+        
+        // The only scheduler task behind countdowns, clocks, flag returns and spawn protection
+        plugin.getServer().getScheduler().runTaskTimer(plugin, timers::tick, 1L, 1L);
+    }
+    
+    public TimingWheel getTimers() {
+        return timers;
+    }
+    
+    public BroadcastQueue getBroadcasts() {
+        return broadcasts;
+    }
+    
+    public TeleportPipeline getTeleports() {
+        return teleports;
     }
     
     public boolean joinGame(Player player, String arenaName) {
@@ -33,8 +57,7 @@ public class GameManager {
         
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         if (arena == null) {
-            plugin.getMessageUtil().sendMessage(player, "arena.not-found", 
-                Map.of("arena", arenaName));
+            plugin.getMessageUtil().sendMessage(player, "arena.not-found", "arena", arenaName);
             return false;
         }
         
@@ -51,13 +74,8 @@ public class GameManager {
             return false;
         }
         
-        if (game.addPlayer(player)) {
-            // Update tab list for player joining arena
-            plugin.getTabListManager().onPlayerJoinArena(player, arenaName);
-            plugin.getTabListManager().setTabListHeader(player);
-            return true;
-        }
-        return false;
+        // Tab list groups are updated by the game itself
+        return game.addPlayer(player);
     }
     
     public boolean joinRandomGame(Player player) {
@@ -109,8 +127,7 @@ public class GameManager {
         // Create lobby scoreboard
         plugin.getLobbyManager().createLobbyScoreboard(player);
         
-        plugin.getMessageUtil().sendMessage(player, "game.left-queue", 
-            Map.of("arena", arenaName));
+        plugin.getMessageUtil().sendMessage(player, "game.left-queue", "arena", arenaName);
     }
     
     private CTFGame getOrCreateGame(Arena arena) {
@@ -148,6 +165,9 @@ public class GameManager {
             game.endGame(null);
         }
         activeGames.clear();
+        
+        // No tick end follows while disabling, send the end screens now
+        broadcasts.flushAll();
     }
     
     public void forceStartGame(String arenaName) {
@@ -168,9 +188,6 @@ public class GameManager {
         for (CTFGame game : activeGames.values()) {
             game.update();
         }
-        
-        // Check spawn protection
-        plugin.getPlayerManager().checkSpawnProtection();
     }
     
     public CTFGame getGame(String arenaName) {
@@ -178,11 +195,8 @@ public class GameManager {
     }
     
     public CTFGame getPlayerGame(Player player) {
-        String arenaName = plugin.getPlayerManager().getPlayerArena(player);
-        if (arenaName != null) {
-            return activeGames.get(arenaName);
-        }
-        return null;
+        PlayerSession session = plugin.getPlayerManager().getSession(player);
+        return session != null ? session.getGame() : null;
     }
     
     public boolean isInGame(Player player) {
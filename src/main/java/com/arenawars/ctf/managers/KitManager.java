@@ -0,0 +1,147 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.managers;
+
+import com.arenawars.ctf.ArenaWarsCTF;
+import com.arenawars.ctf.game.Team;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Team kits from the {@code kits} section of config.yml, given on game start and respawn.
+ *
+ * Each team's kit is built once per load into fixed inventory and armor arrays (leather armor
+ * already dyed) and applied with bulk inventory writes. Kits are replaced as a whole on
+ * reload and never modified afterwards.
+ */
+public class KitManager {
+
+    private static final int STORAGE_SLOTS = 36;
+
+    // In setArmorContents order
+    private static final String[] ARMOR_KEYS = {"boots", "leggings", "chestplate", "helmet"};
+
+    // Used when config.yml has no kits section (configs from before kits existed)
+    private static final List<String> DEFAULT_ITEMS = List.of("IRON_SWORD", "BOW", "ARROW:32", "COOKED_BEEF:16");
+    private static final String[] DEFAULT_ARMOR = {"IRON_BOOTS", "IRON_LEGGINGS", "IRON_CHESTPLATE", "LEATHER_HELMET"};
+
+    private final ArenaWarsCTF plugin;
+    private volatile Map<Team, Kit> kits;
+
+    public KitManager(ArenaWarsCTF plugin) {
+        this.plugin = plugin;
+        reloadKits();
+    }
+
+    /**
+     * Rebuilds the kits from config.yml; call after the config was reloaded.
+     */
+    public void reloadKits() {
+        Map<Team, Kit> loaded = new EnumMap<>(Team.class);
+
+        for (Team team : Team.values()) {
+            // A team without its own kit gets the default one
+            String path = "kits." + team.name().toLowerCase();
+            ConfigurationSection section = plugin.getConfigManager().getConfig().getConfigurationSection(path);
+            if (section == null) {
+                path = "kits.default";
+                section = plugin.getConfigManager().getConfig().getConfigurationSection(path);
+            }
+            loaded.put(team, buildKit(team, section, path));
+        }
+
+        this.kits = loaded;
+    }
+
+    /**
+     * Replaces the player's whole inventory with the team's kit.
+     */
+    public void giveKit(Player player, Team team) {
+        kits.get(team).apply(player);
+    }
+
+    private Kit buildKit(Team team, ConfigurationSection section, String path) {
+        ItemStack[] storage = new ItemStack[STORAGE_SLOTS];
+        ItemStack[] armor = new ItemStack[ARMOR_KEYS.length];
+
+        List<String> items = section != null ? section.getStringList("items") : DEFAULT_ITEMS;
+        if (items.size() > STORAGE_SLOTS) {
+            plugin.getLogger().warning("Kit " + path + " has more than " + STORAGE_SLOTS + " items, the rest is ignored");
+        }
+        for (int slot = 0; slot < Math.min(items.size(), STORAGE_SLOTS); slot++) {
+            storage[slot] = parseItem(items.get(slot), team, path);
+        }
+
+        for (int i = 0; i < ARMOR_KEYS.length; i++) {
+            String spec = section != null ? section.getString(ARMOR_KEYS[i]) : DEFAULT_ARMOR[i];
+            if (spec != null && !spec.isEmpty()) {
+                armor[i] = parseItem(spec, team, path);
+            }
+        }
+
+        return new Kit(storage, armor);
+    }
+
+    // "MATERIAL" or "MATERIAL:amount"
+    private ItemStack parseItem(String spec, Team team, String path) {
+        String[] parts = spec.split(":", 2);
+        Material material = Material.matchMaterial(parts[0].trim());
+
+        int amount = 1;
+        if (parts.length == 2) {
+            try {
+                amount = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                amount = -1;
+            }
+        }
+
+        if (material == null || amount < 1) {
+            plugin.getLogger().warning("Invalid item '" + spec + "' in kit " + path);
+            return null;
+        }
+
+        ItemStack item = new ItemStack(material, amount);
+
+        // Dye leather armor in the team color
+        ItemMeta meta = item.getItemMeta();
+        if (meta instanceof LeatherArmorMeta) {
+            ((LeatherArmorMeta) meta).setColor(team.getArmorColor());
+            item.setItemMeta(meta);
+        }
+
+        return item;
+    }
+
+    static final class Kit {
+        private final ItemStack[] storage;
+        private final ItemStack[] armor;
+
+        Kit(ItemStack[] storage, ItemStack[] armor) {
+            this.storage = storage;
+            this.armor = armor;
+        }
+
+        void apply(Player player) {
+            PlayerInventory inventory = player.getInventory();
+
+            // Both arrays cover every slot, so this overwrites the old inventory. The inventory
+            // copies every stack it is given, so the templates are handed over as they are.
+            inventory.setStorageContents(storage);
+            inventory.setArmorContents(armor);
+            inventory.setItemInOffHand(null);
+        }
+    }
+}
@@ -8,11 +8,13 @@ package com.arenawars.ctf.managers;
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.arena.Arena;
 import com.arenawars.ctf.arena.ArenaState;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import com.arenawars.ctf.storage.LeaderboardStat;
+import com.arenawars.ctf.utils.Sidebar;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scoreboard.*;
+import org.bukkit.scoreboard.Scoreboard;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,13 +22,13 @@ import java.util.Map;
 public class LobbyManager {
     
     private final ArenaWarsCTF plugin;
-    private final Map<Player, Scoreboard> lobbyScoreboards;
-    private final LegacyComponentSerializer serializer;
+    private final Map<Player, Sidebar> lobbySidebars;
+    private final ColorManager colorManager;
     
     public LobbyManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
-        this.lobbyScoreboards = new HashMap<>();
-        this.serializer = LegacyComponentSerializer.legacyAmpersand();
+        this.lobbySidebars = new HashMap<>();
+        this.colorManager = new ColorManager();
     }
     
     public void createLobbyScoreboard(Player player) {
@@ -34,109 +36,104 @@ public class LobbyManager {
         removeLobbyScoreboard(player);
         org.bukkit.scoreboard.ScoreboardManager bukkitManager = Bukkit.getScoreboardManager();
         Scoreboard scoreboard = bukkitManager.getNewScoreboard();
-        
-        Objective objective = scoreboard.registerNewObjective(
-            "ctf_lobby", 
-            "dummy", 
-            serializer.deserialize("&6&lArenaWars &e&lCTF")
-        );
-        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        Sidebar sidebar = new Sidebar(scoreboard, "ctf_lobby", "&6&lArenaWars &e&lCTF", colorManager);
         
         // Set scoreboard for player
         player.setScoreboard(scoreboard);
-        lobbyScoreboards.put(player, scoreboard);
+        lobbySidebars.put(player, sidebar);
         
         // Update content
         updateLobbyScoreboard(player);
     }
     
     public void updateLobbyScoreboard(Player player) {
-        Scoreboard scoreboard = lobbyScoreboards.get(player);
-        if (scoreboard == null) {
+        Sidebar sidebar = lobbySidebars.get(player);
+        if (sidebar == null) {
             createLobbyScoreboard(player);
             return;
         }
         
-        Objective objective = scoreboard.getObjective("ctf_lobby");
-        if (objective == null) return;
-        
-        // Clear existing scores
-        for (String entry : scoreboard.getEntries()) {
-            scoreboard.resetScores(entry);
-        }
-        
         PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
+        if (data == null) return;
+        int level = plugin.getXPManager().getLevel(data);
         String levelColor = plugin.getXPManager().getLevelColor(level);
         String levelTitle = plugin.getXPManager().getLevelTitle(level);
         
-        int line = 15;
+        List<String> lines = new ArrayList<>(Sidebar.MAX_LINES);
         
         // Header
-        objective.getScore(" ").setScore(line--);
+        lines.add("");
         
         // Player Level and Title
-        objective.getScore("&7Level: " + levelColor + level + " &8[" + levelTitle + "]").setScore(line--);
+        lines.add("&7Level: " + levelColor + level + " &8[" + levelTitle + "]");
+        
+        // Leaderboard rank, kept near the top since the sidebar only shows 15 lines
+        int rank = plugin.getPlayerManager().getLeaderboards().getRank(LeaderboardStat.EXPERIENCE, player.getUniqueId());
+        if (rank > 0) {
+            lines.add("&7Rank: &e#" + rank + " &8(XP)");
+        }
         
         // XP Progress
         int currentXP = plugin.getXPManager().getCurrentLevelProgress(data.experience);
         int requiredXP = plugin.getXPManager().getXPRequiredForCurrentLevel(data.experience);
         String xpBar = createXPBar(currentXP, requiredXP);
-        objective.getScore("&7XP: " + xpBar).setScore(line--);
-        objective.getScore("&8" + currentXP + "/" + requiredXP + " XP").setScore(line--);
+        lines.add("&7XP: " + xpBar);
+        lines.add("&8" + currentXP + "/" + requiredXP + " XP");
         
         // Empty line
-        objective.getScore("  ").setScore(line--);
+        lines.add("");
         
         // Server Stats
-        objective.getScore("&6&lServer Stats").setScore(line--);
-        objective.getScore("&7Active Games: &e" + plugin.getGameManager().getActiveGameCount()).setScore(line--);
-        objective.getScore("&7Players Online: &a" + plugin.getGameManager().getTotalPlayers()).setScore(line--);
+        lines.add("&6&lServer Stats");
+        lines.add("&7Active Games: &e" + plugin.getGameManager().getActiveGameCount());
+        lines.add("&7Players Online: &a" + plugin.getGameManager().getTotalPlayers());
         
         // Empty line
-        objective.getScore("   ").setScore(line--);
+        lines.add("");
         
         // Available Arenas
-        objective.getScore("&a&lAvailable Arenas").setScore(line--);
+        lines.add("&a&lAvailable Arenas");
         
         List<Arena> availableArenas = getAvailableArenas();
         if (availableArenas.isEmpty()) {
-            objective.getScore("&7No arenas available").setScore(line--);
+            lines.add("&7No arenas available");
         } else {
             int shown = 0;
             for (Arena arena : availableArenas) {
                 if (shown >= 3) break; // Show max 3 arenas
                 
                 String status = getArenaStatusShort(arena);
-                objective.getScore("&e" + arena.getDisplayName() + " " + status).setScore(line--);
+                lines.add("&e" + arena.getDisplayName() + " " + status);
                 shown++;
             }
             
             if (availableArenas.size() > 3) {
-                objective.getScore("&7... and " + (availableArenas.size() - 3) + " more").setScore(line--);
+                lines.add("&7... and " + (availableArenas.size() - 3) + " more");
             }
         }
         
         // Empty line
-        objective.getScore("    ").setScore(line--);
+        lines.add("");
         
         // Player Personal Stats
-        objective.getScore("&b&lYour Stats").setScore(line--);
-        objective.getScore("&7Games: &e" + data.gamesPlayed + " &7Wins: &a" + data.gamesWon).setScore(line--);
-        objective.getScore("&7Win Rate: &6" + String.format("%.1f%%", data.getWinRate())).setScore(line--);
-        objective.getScore("&7K/D: &c" + String.format("%.2f", data.getKDRatio()) + " &7Captures: &e" + data.captures).setScore(line--);
+        lines.add("&b&lYour Stats");
+        lines.add("&7Games: &e" + data.gamesPlayed + " &7Wins: &a" + data.gamesWon);
+        lines.add("&7Win Rate: &6" + String.format("%.1f%%", data.getWinRate()));
+        lines.add("&7K/D: &c" + String.format("%.2f", data.getKDRatio()) + " &7Captures: &e" + data.captures);
         
         // Empty line
-        objective.getScore("     ").setScore(line--);
+        lines.add("");
         
         // Quick Join Instructions
-        objective.getScore("&7Type &e/ctf join &7to play!").setScore(line--);
+        lines.add("&7Type &e/ctf join &7to play!");
         
         // Empty line
-        objective.getScore("      ").setScore(line--);
+        lines.add("");
         
         // Footer
-        objective.getScore("&ewww.arenawars.com").setScore(line--);
+        lines.add("&ewww.arenawars.com");
+        
+        sidebar.update(lines);
     }
     
     private String createXPBar(int current, int required) {
@@ -181,7 +178,7 @@ public class LobbyManager {
     }
     
     public void updateAllLobbyScoreboards() {
-        for (Player player : new HashMap<>(lobbyScoreboards).keySet()) {
+        for (Player player : new HashMap<>(lobbySidebars).keySet()) {
             if (player.isOnline() && !plugin.getPlayerManager().isInArena(player)) {
                 updateLobbyScoreboard(player);
             } else {
@@ -191,19 +188,19 @@ public class LobbyManager {
     }
     
     public void removeLobbyScoreboard(Player player) {
-        Scoreboard scoreboard = lobbyScoreboards.remove(player);
-        if (scoreboard != null) {
+        Sidebar sidebar = lobbySidebars.remove(player);
+        if (sidebar != null) {
             // Don't reset to main scoreboard here, let other managers handle it
         }
     }
     
     public void removeAllLobbyScoreboards() {
-        for (Player player : new HashMap<>(lobbyScoreboards).keySet()) {
+        for (Player player : new HashMap<>(lobbySidebars).keySet()) {
             removeLobbyScoreboard(player);
         }
     }
     
     public boolean hasLobbyScoreboard(Player player) {
-        return lobbyScoreboards.containsKey(player);
+        return lobbySidebars.containsKey(player);
     }
 }
\ No newline at end of file
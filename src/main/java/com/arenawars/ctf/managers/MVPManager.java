@@ -9,23 +9,24 @@ import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.game.CTFGame;
 import com.arenawars.ctf.game.Team;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.kyori.adventure.title.Title;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class MVPManager {
     
     private final ArenaWarsCTF plugin;
-    private final LegacyComponentSerializer serializer;
+    private final ColorManager colorManager;
     
     public MVPManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
-        this.serializer = LegacyComponentSerializer.legacyAmpersand();
+        this.colorManager = new ColorManager();
     }
     
     public Player calculateMVP(CTFGame game, Team winningTeam) {
@@ -53,29 +54,28 @@ public class MVPManager {
         
         // Get MVP stats for display
         PlayerManager.PlayerData mvpData = plugin.getPlayerManager().getPlayerData(mvp);
+        if (mvpData == null) return;
         GameStats gameStats = getGameStats(mvp);
-        int level = plugin.getXPManager().calculateLevel(mvpData.experience);
+        int level = plugin.getXPManager().getLevel(mvpData);
         String levelColor = plugin.getXPManager().getLevelColor(level);
         
         // Create title components
-        Component mvpTitle = serializer.deserialize("&6&lMVP");
-        Component mvpSubtitle = serializer.deserialize(levelColor + mvp.getName() + " &7(" + winningTeam.getColoredName() + "&7)");
+        Component mvpTitle = colorManager.colorize("&6&lMVP");
+        Component mvpSubtitle = colorManager.colorize(levelColor + mvp.getName() + " &7(" + winningTeam.getColoredName() + "&7)");
         
         // Show MVP title to all players in the game
+        Title title = Title.title(
+            mvpTitle,
+            mvpSubtitle,
+            Title.Times.times(
+                Duration.ofMillis(500),  // fade in
+                Duration.ofSeconds(4),   // stay
+                Duration.ofMillis(1000)  // fade out
+            )
+        );
+        game.getAudience().showTitle(title);
+        
         for (Player player : game.getPlayers()) {
-            // Show main MVP title
-            Title title = Title.title(
-                mvpTitle,
-                mvpSubtitle,
-                Title.Times.times(
-                    Duration.ofMillis(500),  // fade in
-                    Duration.ofSeconds(4),   // stay
-                    Duration.ofMillis(1000)  // fade out
-                )
-            );
-            
-            player.showTitle(title);
-            
             // Play MVP sound
             if (plugin.getConfigManager().areSoundsEnabled()) {
                 if (player.equals(mvp)) {
@@ -89,65 +89,67 @@ public class MVPManager {
         }
         
         // Schedule detailed stats display after title
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+        game.getTimers().schedule(game, 100L, () -> {
             showDetailedMVPStats(game, mvp, winningTeam, gameStats);
-        }, 100L); // 5 seconds after title
+        }); // 5 seconds after title
     }
     
     private void showDetailedMVPStats(CTFGame game, Player mvp, Team winningTeam, GameStats stats) {
         // Create detailed MVP stats title
-        Component statsTitle = serializer.deserialize("&6&lMOST VALUABLE PLAYER");
+        Component statsTitle = colorManager.colorize("&6&lMOST VALUABLE PLAYER");
         
         // Create detailed subtitle with stats
         String statsText = String.format("&7K: &a%d &7D: &c%d &7C: &e%d &7R: &b%d &6(+%d XP)", 
-            stats.kills, stats.deaths, stats.captures, stats.returns, XPManager.XP_MVP);
-        Component statsSubtitle = serializer.deserialize(statsText);
+            stats.kills, stats.deaths, stats.captures, stats.returns, plugin.getXPManager().getMVPXP());
+        Component statsSubtitle = colorManager.colorize(statsText);
         
         // Show detailed stats title
-        for (Player player : game.getPlayers()) {
-            Title detailTitle = Title.title(
-                statsTitle,
-                statsSubtitle,
-                Title.Times.times(
-                    Duration.ofMillis(300),  // fade in
-                    Duration.ofSeconds(3),   // stay
-                    Duration.ofMillis(700)   // fade out
-                )
-            );
-            
-            player.showTitle(detailTitle);
-            
-            // Send detailed chat message as well
-            sendMVPChatStats(player, mvp, winningTeam, stats);
+        Title detailTitle = Title.title(
+            statsTitle,
+            statsSubtitle,
+            Title.Times.times(
+                Duration.ofMillis(300),  // fade in
+                Duration.ofSeconds(3),   // stay
+                Duration.ofMillis(700)   // fade out
+            )
+        );
+        game.getAudience().showTitle(detailTitle);
+        
+        // Send detailed chat message as well, rendered once for everyone
+        for (String line : buildMVPChatStats(mvp, winningTeam, stats)) {
+            game.getAudience().sendMessage(plugin.getMessageUtil().getColorManager().colorizeForChat(line));
         }
     }
     
-    private void sendMVPChatStats(Player recipient, Player mvp, Team winningTeam, GameStats stats) {
-        plugin.getMessageUtil().sendRawMessage(recipient, "");
-        plugin.getMessageUtil().sendRawMessage(recipient, "&6&l┌──────────────────────────┐");
-        plugin.getMessageUtil().sendRawMessage(recipient, "&6&l│    &e&lMOST VALUABLE PLAYER    &6&l│");
-        plugin.getMessageUtil().sendRawMessage(recipient, "&6&l│                           &6&l│");
+    private List<String> buildMVPChatStats(Player mvp, Team winningTeam, GameStats stats) {
+        List<String> lines = new ArrayList<>();
+        lines.add("");
+        lines.add("&6&l┌──────────────────────────┐");
+        lines.add("&6&l│    &e&lMOST VALUABLE PLAYER    &6&l│");
+        lines.add("&6&l│                           &6&l│");
         
         PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(mvp);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
+        int level = plugin.getXPManager().getLevel(data);
         String levelColor = plugin.getXPManager().getLevelColor(level);
         
         String playerLine = String.format("&6&l│  %s[%d] %s &7(%s&7)  &6&l│", 
             levelColor, level, mvp.getName(), winningTeam.getColoredName());
-        plugin.getMessageUtil().sendRawMessage(recipient, playerLine);
+        lines.add(playerLine);
         
-        plugin.getMessageUtil().sendRawMessage(recipient, "&6&l│                           &6&l│");
+        lines.add("&6&l│                           &6&l│");
         
         String statsLine1 = String.format("&6&l│  &7Kills: &a%-2d  &7Captures: &e%-2d  &6&l│", stats.kills, stats.captures);
         String statsLine2 = String.format("&6&l│  &7Deaths: &c%-2d &7Returns: &b%-2d   &6&l│", stats.deaths, stats.returns);
         
-        plugin.getMessageUtil().sendRawMessage(recipient, statsLine1);
-        plugin.getMessageUtil().sendRawMessage(recipient, statsLine2);
+        lines.add(statsLine1);
+        lines.add(statsLine2);
         
-        plugin.getMessageUtil().sendRawMessage(recipient, "&6&l│                           &6&l│");
-        plugin.getMessageUtil().sendRawMessage(recipient, "&6&l│      &eBonus: &6+" + XPManager.XP_MVP + " XP       &6&l│");
-        plugin.getMessageUtil().sendRawMessage(recipient, "&6&l└──────────────────────────┘");
-        plugin.getMessageUtil().sendRawMessage(recipient, "");
+        lines.add("&6&l│                           &6&l│");
+        lines.add("&6&l│      &eBonus: &6+" + plugin.getXPManager().getMVPXP() + " XP       &6&l│");
+        lines.add("&6&l└──────────────────────────┘");
+        lines.add("");
+        
+        return lines;
     }
     
     private double calculateMVPScore(Player player) {
@@ -194,6 +196,8 @@ public class MVPManager {
         PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
         
         GameStats stats = new GameStats();
+        if (data == null) return stats;
+        
         // In a real implementation, you'd track per-game stats
         // For now, using recent activity approximation
         stats.kills = Math.min(data.kills, 20); // Reasonable game maximum
@@ -6,140 +6,417 @@
 package com.arenawars.ctf.managers;
 
 import com.arenawars.ctf.ArenaWarsCTF;
+import com.arenawars.ctf.game.CTFGame;
 import com.arenawars.ctf.game.Team;
-import org.bukkit.configuration.file.YamlConfiguration;
+import com.arenawars.ctf.storage.Leaderboards;
+import com.arenawars.ctf.storage.MappedStatsStore;
+import com.arenawars.ctf.storage.PlayerDataCache;
+import com.arenawars.ctf.storage.PlayerDataJournal;
+import com.arenawars.ctf.storage.PlayerDataStore;
+import com.arenawars.ctf.storage.SqlitePlayerDataStore;
+import com.arenawars.ctf.storage.StatDeltaLog;
+import com.arenawars.ctf.storage.StatType;
+import com.arenawars.ctf.storage.StorageBackup;
+import com.arenawars.ctf.storage.YamlPlayerDataStore;
+import com.arenawars.ctf.storage.YamlStatsConverter;
 import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class PlayerManager {
     
     private final ArenaWarsCTF plugin;
-    private final Map<UUID, PlayerData> playerData;
-    private final Map<UUID, String> playerArenas; // Player UUID -> Arena name
-    private final Map<UUID, Team> playerTeams;    // Player UUID -> Team
-    private final Map<UUID, Long> spawnProtection; // Player UUID -> Protection end time
+    private final PlayerDataCache playerData;
+    private final Map<UUID, CompletableFuture<PlayerData>> pendingLoads; // Filled from the async pre-login thread
+    private final Map<UUID, PlayerSession> sessions; // Players currently in a game
+    private final Map<String, ArenaRoster> rosters;  // Arena name -> Members, read by the async chat thread
+    private final PlayerDataStore store;
+    private File[] storeFiles; // Files or folder of the active store, set by openStore
+    private final PlayerDataJournal journal;
+    private final Leaderboards leaderboards;
+    
+    // How long onDisable may block waiting for pending stats to reach disk
+    private static final long SHUTDOWN_FLUSH_TIMEOUT_MS = 10000L;
+    private static final long PRELOAD_TIMEOUT_MS = 5000L;
+    // How long a preloaded profile waits for its player to join
+    private static final long PRELOAD_EXPIRY_TICKS = 60 * 20L;
+    // How long a join may block the main thread on a load that is still queued
+    private static final long ACTIVATE_TIMEOUT_MS = 500L;
+    // Profiles read per I/O task while the leaderboards are built
+    private static final int LEADERBOARD_CHUNK_SIZE = 256;
     
     public PlayerManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
-        this.playerData = new HashMap<>();
-        this.playerArenas = new HashMap<>();
-        this.playerTeams = new HashMap<>();
-        this.spawnProtection = new HashMap<>();
+        this.playerData = new PlayerDataCache(plugin.getConfigManager().getPlayerCacheSize());
+        this.pendingLoads = new ConcurrentHashMap<>();
+        this.sessions = new ConcurrentHashMap<>();
+        this.rosters = new ConcurrentHashMap<>();
+        this.store = openStore();
+        this.journal = new PlayerDataJournal(plugin, store, openDeltaLog(store));
+        this.leaderboards = new Leaderboards();
+        
+        // Profiles of evicted players are clean by then, so trimming after a flush is safe
+        journal.setFlushListener(this::trimCache);
+        journal.start();
+        backupStore();
+        loadLeaderboards();
+        
+        // Players already online during a reload
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            pendingLoads.put(player.getUniqueId(), journal.submit(() -> readPlayerData(player.getUniqueId())));
+        }
+    }
+    
+    /**
+     * Builds the leaderboards from the whole store, one chunk of profiles per I/O task. The next
+     * chunk is only queued once the previous one is indexed, so a joining player's load never
+     * waits behind more than one chunk, and only that chunk is held in memory. From then on the
+     * leaderboards are updated incrementally as stats change.
+     */
+    private void loadLeaderboards() {
+        journal.submit(() -> {
+            try {
+                return store.listIds();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((ids, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to build leaderboards: " + error.getMessage());
+                return;
+            }
+            
+            scanLeaderboardChunk(ids, 0);
+        });
+    }
+    
+    private void scanLeaderboardChunk(List<UUID> ids, int start) {
+        int end = Math.min(start + LEADERBOARD_CHUNK_SIZE, ids.size());
+        
+        journal.submit(() -> {
+            List<PlayerData> profiles = new ArrayList<>(end - start);
+            for (UUID uuid : ids.subList(start, end)) {
+                try {
+                    PlayerData data = journal.load(uuid);
+                    if (data != null) profiles.add(data);
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Failed to read " + uuid + " for the leaderboards: " + e.getMessage());
+                }
+            }
+            return profiles;
+        }).whenComplete((profiles, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to build leaderboards: " + error.getMessage());
+                return;
+            }
+            
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                leaderboards.load(profiles);
+                if (end < ids.size()) {
+                    scanLeaderboardChunk(ids, end);
+                    return;
+                }
+                
+                leaderboards.setLoaded();
+                plugin.getLogger().info("Loaded leaderboards for " + ids.size() + " players");
+            });
+        });
+    }
+    
+    /**
+     * Copies the active store (storage.backup-on-start). Queued as the first I/O task, so it
+     * runs after the stat journal was replayed and before anything else reads or writes the
+     * store, without holding up the enable.
+     */
+    private void backupStore() {
+        if (!plugin.getConfigManager().getSettings().backupOnStart()) return;
         
-        loadAllPlayerData();
+        StorageBackup backup = new StorageBackup(plugin.getDataFolder(), plugin.getLogger());
+        File[] sources = storeFiles;
+        journal.submit(() -> {
+            backup.backup(sources);
+            return null;
+        });
     }
     
-    private void loadAllPlayerData() {
+    /**
+     * Opens the backend selected by storage.type. Runs before the journal's I/O thread
+     * exists, which hands the store over to that thread afterwards.
+     */
+    private PlayerDataStore openStore() {
         File playerDataFolder = plugin.getConfigManager().getPlayerDataFolder();
+        String type = plugin.getConfigManager().getStorageType();
         
-        if (!playerDataFolder.exists()) {
-            playerDataFolder.mkdirs();
-            return;
-        }
+        YamlPlayerDataStore yamlStore = new YamlPlayerDataStore(playerDataFolder);
+        yamlStore.open();
+        storeFiles = new File[] {playerDataFolder};
         
-        File[] files = playerDataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null) return;
+        File storeFile;
+        PlayerDataStore store;
+        
+        switch (type) {
+            case "file":
+                return yamlStore;
+            case "binary":
+                storeFile = new File(plugin.getDataFolder(), "playerstats.dat");
+                store = new MappedStatsStore(storeFile);
+                break;
+            case "sqlite":
+                storeFile = new File(plugin.getDataFolder(), "playerstats.db");
+                store = new SqlitePlayerDataStore(storeFile);
+                break;
+            default:
+                plugin.getLogger().warning("Unknown storage type '" + type + "', using file storage");
+                return yamlStore;
+        }
         
-        for (File file : files) {
+        boolean firstRun = !storeFile.exists();
+        try {
+            store.open();
+            
+            // Bring existing per-player YAML profiles over the first time a backend is used
+            if (firstRun) {
+                int converted = new YamlStatsConverter(plugin.getLogger()).convert(playerDataFolder, store);
+                if (converted > 0) {
+                    plugin.getLogger().info("Converted " + converted + " YAML player profiles to " + storeFile.getName());
+                }
+            }
+            
+            plugin.getLogger().info("Using " + store.getName() + " player data storage (" + storeFile.getName() + ")");
+            // SQLite keeps recent commits in its write-ahead log until the next checkpoint
+            storeFiles = new File[] {storeFile, new File(storeFile.getPath() + "-wal")};
+            return store;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to open " + storeFile.getName() + ", falling back to file storage: " + e.getMessage());
             try {
-                String fileName = file.getName();
-                String uuidString = fileName.substring(0, fileName.length() - 4);
-                UUID uuid = UUID.fromString(uuidString);
-                
-                YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-                PlayerData data = new PlayerData(uuid);
-                
-                data.kills = config.getInt("kills", 0);
-                data.deaths = config.getInt("deaths", 0);
-                data.captures = config.getInt("captures", 0);
-                data.returns = config.getInt("returns", 0);
-                data.gamesPlayed = config.getInt("games-played", 0);
-                data.gamesWon = config.getInt("games-won", 0);
-                data.experience = config.getInt("experience", 0);
-                data.coins = config.getInt("coins", 0);
-                
-                playerData.put(uuid, data);
-                
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load player data from " + file.getName() + ": " + e.getMessage());
+                store.close();
+            } catch (IOException ignored) {
             }
+            return yamlStore;
         }
+    }
+    
+    /**
+     * Replays stat changes a crash kept from reaching the store, before anything can load a profile.
+     */
+    private StatDeltaLog openDeltaLog(PlayerDataStore store) {
+        StatDeltaLog log = new StatDeltaLog(new File(plugin.getDataFolder(), "journal"), plugin.getLogger());
         
-        plugin.getLogger().info("Loaded player data for " + playerData.size() + " players");
+        try {
+            log.recover(store);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to replay the stat journal, recent stats may be missing: " + e.getMessage());
+        }
+        
+        return log;
     }
     
-    public void saveAllPlayerData() {
-        for (PlayerData data : playerData.values()) {
-            savePlayerData(data);
+    /**
+     * Loads a profile on the I/O thread. Called from the async pre-login event so the
+     * data is usually resident by the time the player actually joins.
+     */
+    public void preloadPlayerData(UUID uuid) {
+        CompletableFuture<PlayerData> future = journal.submit(() -> readPlayerData(uuid));
+        pendingLoads.put(uuid, future);
+        // Covers clients that disconnect before joining; a join takes the entry long before
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> pendingLoads.remove(uuid, future), PRELOAD_EXPIRY_TICKS);
+        
+        try {
+            future.get(PRELOAD_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Slow player data load for " + uuid + ": " + e.getMessage());
         }
     }
     
-    public void savePlayerData(PlayerData data) {
-        File file = new File(plugin.getConfigManager().getPlayerDataFolder(), data.uuid + ".yml");
-        YamlConfiguration config = new YamlConfiguration();
-        
-        config.set("kills", data.kills);
-        config.set("deaths", data.deaths);
-        config.set("captures", data.captures);
-        config.set("returns", data.returns);
-        config.set("games-played", data.gamesPlayed);
-        config.set("games-won", data.gamesWon);
-        config.set("experience", data.experience);
-        config.set("coins", data.coins);
+    /**
+     * Drops the preloaded profile of a login that was refused after the pre-login event.
+     */
+    public void discardPreload(UUID uuid) {
+        pendingLoads.remove(uuid);
+    }
+    
+    /**
+     * Pins the player's profile for the duration of the session. If the profile is not
+     * loaded within {@link #ACTIVATE_TIMEOUT_MS}, the player is kicked and null is returned.
+     */
+    public PlayerData activatePlayerData(Player player) {
+        UUID uuid = player.getUniqueId();
+        CompletableFuture<PlayerData> future = pendingLoads.remove(uuid);
         
+        // A resident copy may hold changes that have not been flushed yet, prefer it
+        if (playerData.isResident(uuid)) {
+            return playerData.pin(playerData.get(uuid));
+        }
+        
+        if (future == null || future.isCompletedExceptionally()) {
+            future = journal.submit(() -> readPlayerData(uuid));
+        }
+        
+        // The I/O thread may be busy with a checkpoint batch, so the tick only waits briefly
+        PlayerData loaded;
         try {
-            config.save(file);
+            loaded = future.get(ACTIVATE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Player data for " + player.getName() + " did not load in time, kicking them: " + e);
+            player.kick(plugin.getMessageUtil().colorize(plugin.getMessageUtil().getMessage("general.data-loading")));
+            return null;
+        }
+        
+        PlayerData data = playerData.pin(loaded);
+        leaderboards.ensureIndexed(data);
+        return data;
+    }
+    
+    /**
+     * Unpins the profile when the player logs off; it stays cached until evicted.
+     */
+    public void releasePlayerData(Player player) {
+        pendingLoads.remove(player.getUniqueId());
+        playerData.unpin(player.getUniqueId());
+        trimCache();
+    }
+    
+    private void trimCache() {
+        playerData.trim(data -> !journal.isDirty(data));
+    }
+    
+    // Runs on the journal's I/O thread
+    private PlayerData readPlayerData(UUID uuid) {
+        try {
+            PlayerData data = journal.load(uuid);
+            return data != null ? data : new PlayerData(uuid);
         } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save player data for " + data.uuid + ": " + e.getMessage());
+            plugin.getLogger().severe("Failed to load player data for " + uuid + ": " + e.getMessage());
+            return new PlayerData(uuid);
         }
     }
     
+    public void saveAllPlayerData() {
+        journal.flush();
+    }
+    
+    /**
+     * Queues the profile for the next write-behind batch instead of writing it immediately.
+     * Prefer the add* methods, which also record the change in the stat journal.
+     */
+    public void savePlayerData(PlayerData data) {
+        journal.markDirty(data);
+    }
+    
+    private void addStat(PlayerData data, StatType stat, int amount) {
+        stat.add(data, amount);
+        journal.record(data, stat, amount);
+        leaderboards.update(data, stat);
+    }
+    
+    public Leaderboards getLeaderboards() {
+        return leaderboards;
+    }
+    
+    public void shutdown() {
+        journal.shutdown(SHUTDOWN_FLUSH_TIMEOUT_MS);
+    }
+    
+    /**
+     * Returns the resident profile, or null if the player's data is not loaded.
+     */
     public PlayerData getPlayerData(UUID uuid) {
-        return playerData.computeIfAbsent(uuid, PlayerData::new);
+        return playerData.get(uuid);
     }
     
+    /**
+     * Returns the online player's profile, loading it if needed. Null only for a player whose
+     * profile could not be loaded, who is kicked by then; callers skip such a player.
+     */
     public PlayerData getPlayerData(Player player) {
-        return getPlayerData(player.getUniqueId());
+        PlayerData data = playerData.getOnline(player.getUniqueId());
+        if (data != null) return data;
+        
+        return activatePlayerData(player);
     }
     
-    public void setPlayerArena(Player player, String arenaName) {
-        if (arenaName == null) {
-            playerArenas.remove(player.getUniqueId());
-        } else {
-            playerArenas.put(player.getUniqueId(), arenaName);
-        }
+    /**
+     * Registers the player as a member of {@code game}, replacing any previous session.
+     */
+    public PlayerSession startSession(Player player, CTFGame game, Team team) {
+        endSession(player);
+        
+        PlayerSession session = new PlayerSession(player, game, team);
+        sessions.put(player.getUniqueId(), session);
+        rosters.compute(session.getArenaName(), (arena, roster) ->
+            (roster != null ? roster : ArenaRoster.EMPTY).with(player, team));
+        return session;
     }
     
-    public String getPlayerArena(Player player) {
-        return playerArenas.get(player.getUniqueId());
+    public PlayerSession getSession(Player player) {
+        return sessions.get(player.getUniqueId());
     }
     
-    public boolean isInArena(Player player) {
-        return playerArenas.containsKey(player.getUniqueId());
+    public Collection<PlayerSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
     }
     
-    public void setPlayerTeam(Player player, Team team) {
-        if (team == null) {
-            playerTeams.remove(player.getUniqueId());
-        } else {
-            playerTeams.put(player.getUniqueId(), team);
+    private PlayerSession endSession(Player player) {
+        PlayerSession session = sessions.remove(player.getUniqueId());
+        if (session == null) return null;
+        
+        rosters.computeIfPresent(session.getArenaName(), (arena, roster) -> roster.without(player));
+        
+        // Stop the timers that still point at this session
+        if (session.spawnProtection != null) {
+            session.spawnProtection.cancel();
         }
+        if (session.respawn != null) {
+            session.respawn.cancelled = true;
+        }
+        return session;
+    }
+    
+    public String getPlayerArena(Player player) {
+        PlayerSession session = sessions.get(player.getUniqueId());
+        return session != null ? session.getArenaName() : null;
+    }
+    
+    public boolean isInArena(Player player) {
+        return sessions.containsKey(player.getUniqueId());
     }
     
     public Team getPlayerTeam(Player player) {
-        return playerTeams.get(player.getUniqueId());
+        PlayerSession session = sessions.get(player.getUniqueId());
+        return session != null ? session.getTeam() : null;
     }
     
     public void addSpawnProtection(Player player) {
-        long protectionEnd = System.currentTimeMillis() + (plugin.getConfigManager().getSpawnProtectionTime() * 1000L);
-        spawnProtection.put(player.getUniqueId(), protectionEnd);
+        PlayerSession session = sessions.get(player.getUniqueId());
+        if (session == null) return;
+        
+        if (session.spawnProtection != null) {
+            session.spawnProtection.cancel();
+        }
+        
+        // Owned by the game so it ends with it
+        long duration = plugin.getConfigManager().getSpawnProtectionTime() * 20L;
+        session.spawnProtection = plugin.getGameManager().getTimers().schedule(session.getGame(), duration, () -> {
+            session.spawnProtection = null;
+            
+            if (player.isOnline() && plugin.getConfigManager().areTitlesEnabled()) {
+                plugin.getMessageUtil().sendActionBar(player, "&cSpawn protection expired!");
+            }
+        });
     }
     
     public void removeSpawnProtection(Player player) {
-        spawnProtection.remove(player.getUniqueId());
+        PlayerSession session = sessions.get(player.getUniqueId());
+        if (session == null || !session.hasSpawnProtection()) return;
+        
+        session.spawnProtection.cancel();
+        session.spawnProtection = null;
         
         if (plugin.getConfigManager().areTitlesEnabled()) {
             plugin.getMessageUtil().sendActionBar(player, "&cSpawn protection removed!");
@@ -147,71 +424,41 @@ public class PlayerManager {
     }
     
     public boolean hasSpawnProtection(Player player) {
-        Long protectionEnd = spawnProtection.get(player.getUniqueId());
-        if (protectionEnd == null) return false;
-        
-        if (System.currentTimeMillis() > protectionEnd) {
-            spawnProtection.remove(player.getUniqueId());
-            return false;
-        }
-        
-        return true;
-    }
-    
-    public void checkSpawnProtection() {
-        Iterator<Map.Entry<UUID, Long>> iterator = spawnProtection.entrySet().iterator();
-        long currentTime = System.currentTimeMillis();
-        
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, Long> entry = iterator.next();
-            if (currentTime > entry.getValue()) {
-                iterator.remove();
-                
-                Player player = plugin.getServer().getPlayer(entry.getKey());
-                if (player != null && plugin.getConfigManager().areTitlesEnabled()) {
-                    plugin.getMessageUtil().sendActionBar(player, "&cSpawn protection expired!");
-                }
-            }
-        }
+        PlayerSession session = sessions.get(player.getUniqueId());
+        return session != null && session.hasSpawnProtection();
     }
     
+    /**
+     * Returns an immutable snapshot of the arena's members. It is safe to keep or to
+     * iterate from any thread, and does not change when players join or leave later.
+     */
     public List<Player> getPlayersInArena(String arenaName) {
-        List<Player> players = new ArrayList<>();
-        
-        for (Map.Entry<UUID, String> entry : playerArenas.entrySet()) {
-            if (entry.getValue().equals(arenaName)) {
-                Player player = plugin.getServer().getPlayer(entry.getKey());
-                if (player != null) {
-                    players.add(player);
-                }
-            }
-        }
-        
-        return players;
+        ArenaRoster roster = rosters.get(arenaName);
+        return roster != null ? roster.players : Collections.emptyList();
     }
     
+    /**
+     * Returns an immutable snapshot of one team's members in an arena.
+     *
+     * @see #getPlayersInArena(String)
+     */
     public List<Player> getPlayersInTeam(Team team, String arenaName) {
-        List<Player> players = new ArrayList<>();
-        
-        for (Player player : getPlayersInArena(arenaName)) {
-            if (getPlayerTeam(player) == team) {
-                players.add(player);
-            }
-        }
-        
-        return players;
+        ArenaRoster roster = rosters.get(arenaName);
+        return roster != null ? roster.teams.get(team) : Collections.emptyList();
     }
     
     public void removePlayerFromArena(Player player) {
-        setPlayerArena(player, null);
-        setPlayerTeam(player, null);
-        removeSpawnProtection(player);
+        if (hasSpawnProtection(player) && plugin.getConfigManager().areTitlesEnabled()) {
+            plugin.getMessageUtil().sendActionBar(player, "&cSpawn protection removed!");
+        }
+        
+        endSession(player);
     }
     
     public void addKill(Player player) {
         PlayerData data = getPlayerData(player);
-        data.kills++;
-        savePlayerData(data);
+        if (data == null) return;
+        addStat(data, StatType.KILLS, 1);
         
         // Award kill XP
         plugin.getXPManager().awardKillXP(player);
@@ -219,20 +466,20 @@ public class PlayerManager {
     
     public void addDeath(Player player) {
         PlayerData data = getPlayerData(player);
-        data.deaths++;
-        savePlayerData(data);
+        if (data == null) return;
+        addStat(data, StatType.DEATHS, 1);
     }
     
     public void addCapture(Player player) {
         PlayerData data = getPlayerData(player);
-        data.captures++;
-        savePlayerData(data);
+        if (data == null) return;
+        addStat(data, StatType.CAPTURES, 1);
     }
     
     public void addReturn(Player player) {
         PlayerData data = getPlayerData(player);
-        data.returns++;
-        savePlayerData(data);
+        if (data == null) return;
+        addStat(data, StatType.RETURNS, 1);
         
         // Award return XP
         plugin.getXPManager().awardReturnXP(player);
@@ -240,14 +487,82 @@ public class PlayerManager {
     
     public void addGamePlayed(Player player) {
         PlayerData data = getPlayerData(player);
-        data.gamesPlayed++;
-        savePlayerData(data);
+        if (data == null) return;
+        addStat(data, StatType.GAMES_PLAYED, 1);
     }
     
     public void addGameWon(Player player) {
         PlayerData data = getPlayerData(player);
-        data.gamesWon++;
-        savePlayerData(data);
+        if (data == null) return;
+        addStat(data, StatType.GAMES_WON, 1);
+    }
+    
+    public void addExperience(Player player, int amount) {
+        PlayerData data = getPlayerData(player);
+        if (data == null) return;
+        addStat(data, StatType.EXPERIENCE, amount);
+    }
+    
+    public void addCoins(Player player, int amount) {
+        PlayerData data = getPlayerData(player);
+        if (data == null) return;
+        addStat(data, StatType.COINS, amount);
+    }
+    
+    /**
+     * Member lists of one arena. Joins and leaves are rare next to broadcasts, so the
+     * lists are copied on every change and then shared by all readers.
+     */
+    private static final class ArenaRoster {
+        private static final ArenaRoster EMPTY = new ArenaRoster(Collections.emptyList(), emptyTeams());
+        
+        private final List<Player> players;
+        private final Map<Team, List<Player>> teams;
+        
+        private ArenaRoster(List<Player> players, Map<Team, List<Player>> teams) {
+            this.players = players;
+            this.teams = teams;
+        }
+        
+        private static Map<Team, List<Player>> emptyTeams() {
+            Map<Team, List<Player>> teams = new EnumMap<>(Team.class);
+            for (Team team : Team.values()) {
+                teams.put(team, Collections.emptyList());
+            }
+            return teams;
+        }
+        
+        private ArenaRoster with(Player player, Team team) {
+            ArenaRoster roster = without(player);
+            Map<Team, List<Player>> teams = new EnumMap<>(roster.teams);
+            teams.put(team, append(roster.teams.get(team), player));
+            return new ArenaRoster(append(roster.players, player), teams);
+        }
+        
+        private ArenaRoster without(Player player) {
+            if (!players.contains(player)) return this;
+            
+            Map<Team, List<Player>> teams = new EnumMap<>(this.teams);
+            for (Map.Entry<Team, List<Player>> entry : teams.entrySet()) {
+                entry.setValue(remove(entry.getValue(), player));
+            }
+            return new ArenaRoster(remove(players, player), teams);
+        }
+        
+        private static List<Player> append(List<Player> list, Player player) {
+            List<Player> copy = new ArrayList<>(list.size() + 1);
+            copy.addAll(list);
+            copy.add(player);
+            return Collections.unmodifiableList(copy);
+        }
+        
+        private static List<Player> remove(List<Player> list, Player player) {
+            if (!list.contains(player)) return list;
+            
+            List<Player> copy = new ArrayList<>(list);
+            copy.remove(player);
+            return Collections.unmodifiableList(copy);
+        }
     }
     
     public static class PlayerData {
@@ -261,6 +576,11 @@ public class PlayerManager {
         public int experience;
         public int coins;
         
+        // Level cache, see XPManager.getLevel
+        int level;
+        int levelExperience = -1;
+        XPManager.LevelTable levelTable;
+        
         public PlayerData(UUID uuid) {
             this.uuid = uuid;
             this.kills = 0;
@@ -282,5 +602,18 @@ public class PlayerManager {
             if (gamesPlayed == 0) return 0.0;
             return (double) gamesWon / gamesPlayed * 100;
         }
+        
+        public PlayerData copy() {
+            PlayerData copy = new PlayerData(uuid);
+            copy.kills = kills;
+            copy.deaths = deaths;
+            copy.captures = captures;
+            copy.returns = returns;
+            copy.gamesPlayed = gamesPlayed;
+            copy.gamesWon = gamesWon;
+            copy.experience = experience;
+            copy.coins = coins;
+            return copy;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.managers;
+
+import com.arenawars.ctf.game.CTFGame;
+import com.arenawars.ctf.game.Team;
+import com.arenawars.ctf.utils.TimingWheel;
+import org.bukkit.entity.Player;
+
+/**
+ * Per-player game state, created when a player joins a game and dropped when they leave.
+ * Holds direct references to the game and team, plus the spawn protection and respawn
+ * timers, so event handlers resolve everything with one {@link PlayerManager#getSession(Player)}.
+ */
+public class PlayerSession {
+
+    private final Player player;
+    private final CTFGame game;
+    private final Team team;
+
+    TimingWheel.Handle spawnProtection;  // Managed by PlayerManager
+    RespawnManager.RespawnData respawn;  // Managed by RespawnManager
+
+    PlayerSession(Player player, CTFGame game, Team team) {
+        this.player = player;
+        this.game = game;
+        this.team = team;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public CTFGame getGame() {
+        return game;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    public String getArenaName() {
+        return game.getArena().getName();
+    }
+
+    public boolean isInGame(PlayerSession other) {
+        return other != null && other.game == game;
+    }
+
+    public boolean isTeammate(PlayerSession other) {
+        return isInGame(other) && other.team == team;
+    }
+
+    public boolean hasSpawnProtection() {
+        // Cancelled together with its game
+        return spawnProtection != null && !spawnProtection.isCancelled();
+    }
+
+    public boolean isRespawning() {
+        // Respawn countdowns stop with their game
+        return respawn != null && !respawn.cancelled && !game.isGameEnded();
+    }
+}
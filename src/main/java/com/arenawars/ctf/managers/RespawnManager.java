@@ -7,54 +7,65 @@ package com.arenawars.ctf.managers;
 
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.arena.Arena;
+import com.arenawars.ctf.game.CTFGame;
 import com.arenawars.ctf.game.Team;
-import com.arenawars.ctf.utils.MessageUtil;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 import java.util.Random;
-import java.util.UUID;
 
+/**
+ * Spectator and respawn countdowns of dead players.
+ *
+ * Every countdown waits in a priority queue ordered by the tick it next needs attention: the
+ * tick its displayed second changes, or the tick it respawns. Each server tick pops only what
+ * is due, so respawns happen on the exact tick and the action bar is only sent when the shown
+ * number changes. Cancelled countdowns are dropped when they come up. A player whose countdown
+ * ends without a respawn, because the game ended or they left, is taken out of spectator mode.
+ * Main thread only.
+ */
 public class RespawnManager {
     
     private final ArenaWarsCTF plugin;
-    private final Map<UUID, RespawnData> respawnQueue;
     private final Random random;
+    private final PriorityQueue<RespawnData> queue;
+    private long currentTick;
     
     public RespawnManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
-        this.respawnQueue = new HashMap<>();
         this.random = new Random();
+        this.queue = new PriorityQueue<>(Comparator.comparingLong(data -> data.dueTick));
         
-        // Start respawn task
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processRespawnQueue, 20L, 20L);
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
     }
     
     public void handlePlayerDeath(Player player) {
-        String arenaName = plugin.getPlayerManager().getPlayerArena(player);
-        if (arenaName == null) return;
-        
-        Arena arena = plugin.getArenaManager().getArena(arenaName);
-        if (arena == null) return;
+        PlayerSession session = plugin.getPlayerManager().getSession(player);
+        if (session == null) return;
         
-        Team team = plugin.getPlayerManager().getPlayerTeam(player);
-        if (team == null) return;
+        Arena arena = session.getGame().getArena();
         
         // Add death to statistics
         plugin.getPlayerManager().addDeath(player);
         
-        // Create respawn data
-        RespawnData respawnData = new RespawnData(player, arena, team);
-        respawnQueue.put(player.getUniqueId(), respawnData);
+        // Create respawn data, replacing a countdown that is still running
+        removeFromRespawnQueue(player);
+        long spectatorEndTick = currentTick + plugin.getConfigManager().getSpectatorTime() * 20L;
+        // Never respawn from within the death event itself
+        long respawnTick = Math.max(currentTick + 1, spectatorEndTick + plugin.getConfigManager().getRespawnDelay() * 20L);
+        RespawnData respawnData = new RespawnData(session, spectatorEndTick, respawnTick);
+        session.respawn = respawnData;
+        
+        // Spectators are not live players
+        session.getGame().getPlayerGrid().remove(player);
         
         // Teleport to spectator point and set spectator mode
-        player.teleport(arena.getSpectatorPoint());
+        plugin.getGameManager().getTeleports().teleport(player, arena.getSpectatorPoint());
         player.setGameMode(GameMode.SPECTATOR);
         player.setAllowFlight(true);
         player.setFlying(true);
@@ -66,87 +77,126 @@ public class RespawnManager {
         }
         
         // Send death message
-        Map<String, String> placeholders = MessageUtil.createPlaceholders(
-            "seconds", String.valueOf(plugin.getConfigManager().getSpectatorTime())
-        );
-        plugin.getMessageUtil().sendMessage(player, "game.death-message", placeholders);
+        plugin.getMessageUtil().sendMessage(player, "game.death-message",
+            "seconds", String.valueOf(plugin.getConfigManager().getSpectatorTime()));
         
         // Start spectator countdown
-        startSpectatorCountdown(player, respawnData);
+        process(respawnData);
     }
     
-    private void startSpectatorCountdown(Player player, RespawnData respawnData) {
-        respawnData.spectatorTimeLeft = plugin.getConfigManager().getSpectatorTime();
+    private void tick() {
+        currentTick++;
         
-        // Send initial spectator message
-        updateSpectatorMessage(player, respawnData);
+        RespawnData respawnData;
+        while ((respawnData = queue.peek()) != null && respawnData.dueTick <= currentTick) {
+            queue.poll();
+            if (!respawnData.cancelled) {
+                process(respawnData);
+            }
+        }
     }
     
-    private void updateSpectatorMessage(Player player, RespawnData respawnData) {
-        if (respawnData.spectatorTimeLeft > 0) {
-            Map<String, String> placeholders = MessageUtil.createPlaceholders(
-                "seconds", String.valueOf(respawnData.spectatorTimeLeft)
-            );
-            plugin.getMessageUtil().sendActionBar(player, "&cSpectating for &e" + respawnData.spectatorTimeLeft + " &cseconds...");
+    private void process(RespawnData respawnData) {
+        Player player = respawnData.player;
+        
+        // Left the game, CTFGame.removePlayer already restored them
+        if (!player.isOnline()) {
+            finish(respawnData);
+            return;
+        }
+        
+        // The countdown stops with its game, like every other game timer
+        if (respawnData.session.getGame().isGameEnded()) {
+            finish(respawnData);
+            restore(player);
+            return;
+        }
+        
+        // Finished once the player is at the spawn
+        if (currentTick >= respawnData.respawnTick) {
+            respawnPlayer(player, respawnData);
+            return;
+        }
+        
+        boolean spectating = currentTick < respawnData.spectatorEndTick;
+        long phaseEnd = spectating ? respawnData.spectatorEndTick : respawnData.respawnTick;
+        int seconds = (int) ((phaseEnd - currentTick + 19) / 20);
+        
+        if (!spectating && !respawnData.respawnAnnounced) {
+            respawnData.respawnAnnounced = true;
+            plugin.getMessageUtil().sendMessage(player, "game.respawning", "seconds", String.valueOf(seconds));
+        }
+        
+        if (spectating != respawnData.shownSpectating || seconds != respawnData.shownSeconds) {
+            respawnData.shownSpectating = spectating;
+            respawnData.shownSeconds = seconds;
+            updateSpectatorMessage(player, spectating, seconds);
+        }
+        
+        // Wake up when the shown second changes; the last one ends with the phase
+        respawnData.dueTick = phaseEnd - (seconds - 1) * 20L;
+        queue.add(respawnData);
+    }
+    
+    private void updateSpectatorMessage(Player player, boolean spectating, int seconds) {
+        if (spectating) {
+            plugin.getMessageUtil().sendActionBar(player, "&cSpectating for &e" + seconds + " &cseconds...");
         } else {
-            Map<String, String> placeholders = MessageUtil.createPlaceholders(
-                "seconds", String.valueOf(respawnData.respawnTimeLeft)
-            );
-            plugin.getMessageUtil().sendActionBar(player, "&aRespawning in &e" + respawnData.respawnTimeLeft + " &aseconds...");
+            plugin.getMessageUtil().sendActionBar(player, "&aRespawning in &e" + seconds + " &aseconds...");
         }
     }
     
-    private void processRespawnQueue() {
-        for (RespawnData respawnData : respawnQueue.values()) {
-            Player player = respawnData.player;
-            
-            if (!player.isOnline()) {
-                respawnQueue.remove(player.getUniqueId());
-                continue;
-            }
-            
-            if (respawnData.spectatorTimeLeft > 0) {
-                // Still in spectator phase
-                respawnData.spectatorTimeLeft--;
-                updateSpectatorMessage(player, respawnData);
-                
-                if (respawnData.spectatorTimeLeft == 0) {
-                    // Start respawn countdown
-                    respawnData.respawnTimeLeft = plugin.getConfigManager().getRespawnDelay();
-                    Map<String, String> placeholders = MessageUtil.createPlaceholders(
-                        "seconds", String.valueOf(respawnData.respawnTimeLeft)
-                    );
-                    plugin.getMessageUtil().sendMessage(player, "game.respawning", placeholders);
-                }
-            } else if (respawnData.respawnTimeLeft > 0) {
-                // In respawn countdown
-                respawnData.respawnTimeLeft--;
-                updateSpectatorMessage(player, respawnData);
-                
-                if (respawnData.respawnTimeLeft == 0) {
-                    // Respawn player
-                    respawnPlayer(player, respawnData);
-                }
-            }
+    private void finish(RespawnData respawnData) {
+        respawnData.cancelled = true;
+        if (respawnData.session.respawn == respawnData) {
+            respawnData.session.respawn = null;
         }
-        
-        // Remove completed respawns
-        respawnQueue.entrySet().removeIf(entry -> entry.getValue().respawnTimeLeft <= 0 && entry.getValue().spectatorTimeLeft <= 0);
+    }
+    
+    // Undoes the spectator state of a dead player whose countdown was dropped
+    private void restore(Player player) {
+        player.setGameMode(GameMode.SURVIVAL);
+        player.setAllowFlight(false);
+        player.setFlying(false);
     }
     
     private void respawnPlayer(Player player, RespawnData respawnData) {
-        Arena arena = respawnData.arena;
-        Team team = respawnData.team;
+        CTFGame game = respawnData.session.getGame();
+        Arena arena = game.getArena();
+        Team team = respawnData.session.getTeam();
         
-        // Get spawn location
-        Location spawnLocation = getSpawnLocation(arena, team);
+        // Get spawn location, preferring the one with the fewest enemies nearby
+        Location spawnLocation = game.pickSafeSpawn(team, random);
         if (spawnLocation == null) {
             plugin.getLogger().warning("No spawn location found for team " + team + " in arena " + arena.getName());
+            finish(respawnData);
+            restore(player);
             return;
         }
         
-        // Teleport and set survival mode
-        player.teleport(spawnLocation);
+        // Everything else waits until the player is actually at the spawn
+        plugin.getGameManager().getTeleports().teleport(player, spawnLocation).thenAccept(arrived -> {
+            // Dropped while the chunk loaded (left the game or died again), already handled
+            if (respawnData.cancelled) return;
+            
+            finish(respawnData);
+            if (!player.isOnline()) return;
+            if (game.isGameEnded()) {
+                restore(player);
+                return;
+            }
+            
+            if (!arrived) {
+                // Refused (e.g. by another plugin); don't leave them stuck as a spectator
+                player.teleport(spawnLocation);
+            }
+            completeRespawn(player, game, team, spawnLocation);
+        });
+    }
+    
+    private void completeRespawn(Player player, CTFGame game, Team team, Location spawnLocation) {
+        // Set survival mode
+        game.getPlayerGrid().update(player, team, spawnLocation);
         player.setGameMode(GameMode.SURVIVAL);
         player.setAllowFlight(false);
         player.setFlying(false);
@@ -157,7 +207,7 @@ public class RespawnManager {
         player.setSaturation(20.0f);
         
         // Give equipment
-        givePlayerEquipment(player, team);
+        plugin.getKitManager().giveKit(player, team);
         
         // Add spawn protection
         plugin.getPlayerManager().addSpawnProtection(player);
@@ -168,96 +218,58 @@ public class RespawnManager {
         
         // Send respawn message
         plugin.getMessageUtil().sendMessage(player, "game.respawned");
-        
-        // Remove from respawn queue
-        respawnQueue.remove(player.getUniqueId());
     }
     
-    private Location getSpawnLocation(Arena arena, Team team) {
-        List<Location> spawns = team == Team.RED ? arena.getRedSpawns() : arena.getBlueSpawns();
-        
-        if (spawns.isEmpty()) {
-            return null;
-        }
-        
-        // Return random spawn
-        return spawns.get(random.nextInt(spawns.size()));
+    public boolean isInRespawnQueue(Player player) {
+        PlayerSession session = plugin.getPlayerManager().getSession(player);
+        return session != null && session.isRespawning();
     }
     
-    private void givePlayerEquipment(Player player, Team team) {
-        player.getInventory().clear();
-        
-        // Give basic CTF equipment based on team
-        if (team == Team.RED) {
-            // Red team equipment
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_SWORD));
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.BOW));
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.ARROW, 32));
-            
-            // Red armor
-            player.getInventory().setHelmet(new org.bukkit.inventory.ItemStack(org.bukkit.Material.LEATHER_HELMET));
-            player.getInventory().setChestplate(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_CHESTPLATE));
-            player.getInventory().setLeggings(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_LEGGINGS));
-            player.getInventory().setBoots(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_BOOTS));
-            
-            // Color the leather helmet red
-            org.bukkit.inventory.ItemStack helmet = player.getInventory().getHelmet();
-            if (helmet != null && helmet.getItemMeta() instanceof org.bukkit.inventory.meta.LeatherArmorMeta) {
-                org.bukkit.inventory.meta.LeatherArmorMeta meta = (org.bukkit.inventory.meta.LeatherArmorMeta) helmet.getItemMeta();
-                meta.setColor(org.bukkit.Color.RED);
-                helmet.setItemMeta(meta);
-            }
-            
-        } else {
-            // Blue team equipment
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_SWORD));
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.BOW));
-            player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.ARROW, 32));
-            
-            // Blue armor
-            player.getInventory().setHelmet(new org.bukkit.inventory.ItemStack(org.bukkit.Material.LEATHER_HELMET));
-            player.getInventory().setChestplate(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_CHESTPLATE));
-            player.getInventory().setLeggings(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_LEGGINGS));
-            player.getInventory().setBoots(new org.bukkit.inventory.ItemStack(org.bukkit.Material.IRON_BOOTS));
-            
-            // Color the leather helmet blue
-            org.bukkit.inventory.ItemStack helmet = player.getInventory().getHelmet();
-            if (helmet != null && helmet.getItemMeta() instanceof org.bukkit.inventory.meta.LeatherArmorMeta) {
-                org.bukkit.inventory.meta.LeatherArmorMeta meta = (org.bukkit.inventory.meta.LeatherArmorMeta) helmet.getItemMeta();
-                meta.setColor(org.bukkit.Color.BLUE);
-                helmet.setItemMeta(meta);
-            }
-        }
+    public void removeFromRespawnQueue(Player player) {
+        PlayerSession session = plugin.getPlayerManager().getSession(player);
+        if (session == null || session.respawn == null) return;
         
-        // Add food
-        player.getInventory().addItem(new org.bukkit.inventory.ItemStack(org.bukkit.Material.COOKED_BEEF, 16));
+        // Left in the queue and skipped when it comes up
+        finish(session.respawn);
     }
     
-    public boolean isInRespawnQueue(Player player) {
-        return respawnQueue.containsKey(player.getUniqueId());
-    }
-    
-    public void removeFromRespawnQueue(Player player) {
-        respawnQueue.remove(player.getUniqueId());
+    /**
+     * Drops the player's countdown and takes them out of spectator mode. Called when they
+     * leave the game, while they are still online.
+     */
+    public void cancelRespawn(Player player) {
+        PlayerSession session = plugin.getPlayerManager().getSession(player);
+        if (session == null || session.respawn == null) return;
+        
+        finish(session.respawn);
+        restore(player);
     }
     
     public void clearRespawnQueue() {
-        respawnQueue.clear();
+        for (PlayerSession session : plugin.getPlayerManager().getSessions()) {
+            removeFromRespawnQueue(session.getPlayer());
+        }
+        queue.clear();
     }
     
-    private static class RespawnData {
+    static class RespawnData {
+        public final PlayerSession session;
         public final Player player;
-        public final Arena arena;
-        public final Team team;
-        public int spectatorTimeLeft;
-        public int respawnTimeLeft;
+        public final long spectatorEndTick;
+        public final long respawnTick;
+        public long dueTick;
+        public boolean cancelled;
+        
+        // Last countdown shown on the action bar
+        private boolean shownSpectating;
+        private int shownSeconds = -1;
+        private boolean respawnAnnounced;
         
-        public RespawnData(Player player, Arena arena, Team team) {
-            this.player = player;
-            this.arena = arena;
-            this.team = team;
-            this.spectatorTimeLeft = 0;
-            this.respawnTimeLeft = 0;
+        public RespawnData(PlayerSession session, long spectatorEndTick, long respawnTick) {
+            this.session = session;
+            this.player = session.getPlayer();
+            this.spectatorEndTick = spectatorEndTick;
+            this.respawnTick = respawnTick;
         }
     }
 }
\ No newline at end of file
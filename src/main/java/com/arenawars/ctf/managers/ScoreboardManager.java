@@ -8,25 +8,31 @@ package com.arenawars.ctf.managers;
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.game.CTFGame;
 import com.arenawars.ctf.game.Team;
+import com.arenawars.ctf.utils.Sidebar;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scoreboard.*;
+import org.bukkit.scoreboard.Scoreboard;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ScoreboardManager {
     
     private final ArenaWarsCTF plugin;
-    private final Map<Player, Scoreboard> playerScoreboards;
-    private final Map<Player, BossBar> playerBossBars;
+    private final Map<Player, Sidebar> playerSidebars;
+    private final Map<CTFGame, BossBar> gameBossBars;  // One boss bar shared by everyone in a game
+    private final Map<Player, BossBar> playerBossBars; // Player -> the game boss bar they are shown
     private final ColorManager colorManager;
     
     public ScoreboardManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
-        this.playerScoreboards = new HashMap<>();
+        this.playerSidebars = new HashMap<>();
+        this.gameBossBars = new HashMap<>();
         this.playerBossBars = new HashMap<>();
         this.colorManager = new ColorManager();
     }
@@ -38,115 +44,122 @@ public class ScoreboardManager {
         // Create new scoreboard
         org.bukkit.scoreboard.ScoreboardManager bukkitManager = Bukkit.getScoreboardManager();
         Scoreboard scoreboard = bukkitManager.getNewScoreboard();
-        
-        Objective objective = scoreboard.registerNewObjective(
-            "ctf_game", 
-            "dummy", 
-            colorManager.colorize("&6&lArenaWars CTF")
-        );
-        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        Sidebar sidebar = new Sidebar(scoreboard, "ctf_game", "&6&lArenaWars CTF", colorManager);
         
         // Set scoreboard for player
         player.setScoreboard(scoreboard);
-        playerScoreboards.put(player, scoreboard);
+        playerSidebars.put(player, sidebar);
         
-        // Create boss bar
-        createGameBossBar(player, game);
+        // Show the game's boss bar
+        showGameBossBar(player, game);
         
         // Update scoreboard content
         updateGameScoreboard(game);
     }
     
     public void updateGameScoreboard(CTFGame game) {
+        GameFrame frame = null;
+        
         for (Player player : game.getPlayers()) {
-            Scoreboard scoreboard = playerScoreboards.get(player);
-            if (scoreboard == null) {
+            Sidebar sidebar = playerSidebars.get(player);
+            if (sidebar == null) {
                 createGameScoreboard(player, game);
                 continue;
             }
             
-            Objective objective = scoreboard.getObjective("ctf_game");
-            if (objective == null) continue;
-            
-            // Clear existing scores
-            for (String entry : scoreboard.getEntries()) {
-                scoreboard.resetScores(entry);
+            // The game-wide lines are the same for everyone, build them once per update
+            if (frame == null) {
+                frame = buildFrame(game);
             }
             
             Team playerTeam = plugin.getPlayerManager().getPlayerTeam(player);
-            Map<Team, Integer> scores = game.getScores();
-            
-            // Build scoreboard content
-            int line = 15;
-            
-            // Empty line
-            objective.getScore(" ").setScore(line--);
+            List<String> lines = new ArrayList<>(Sidebar.MAX_LINES);
             
-            // Arena name
-            String arenaLine = colorManager.colorizeForScoreboard("&7Arena: &e" + game.getArena().getDisplayName());
-            objective.getScore(arenaLine).setScore(line--);
-            
-            // Empty line
-            objective.getScore("  ").setScore(line--);
-            
-            // Team scores
-            String redScoreLine = colorManager.colorizeForScoreboard("&c&lRed Team: &f" + scores.get(Team.RED));
-            String blueScoreLine = colorManager.colorizeForScoreboard("&9&lBlue Team: &f" + scores.get(Team.BLUE));
-            objective.getScore(redScoreLine).setScore(line--);
-            objective.getScore(blueScoreLine).setScore(line--);
-            
-            // Empty line
-            objective.getScore("   ").setScore(line--);
+            lines.addAll(frame.header);
             
             // Your team
             if (playerTeam != null) {
-                String teamLine = colorManager.colorizeForScoreboard("&7Your Team: " + playerTeam.getColoredName());
-                objective.getScore(teamLine).setScore(line--);
+                lines.add("&7Your Team: " + playerTeam.getColoredName());
             }
             
-            // Empty line
-            objective.getScore("    ").setScore(line--);
-            
-            // Game time
-            int minutes = game.getGameTime() / 60;
-            int seconds = game.getGameTime() % 60;
-            String timeLine = colorManager.colorizeForScoreboard("&7Time: &e" + String.format("%02d:%02d", minutes, seconds));
-            objective.getScore(timeLine).setScore(line--);
-            
-            // Empty line
-            objective.getScore("     ").setScore(line--);
+            lines.addAll(frame.clock);
             
             // Player stats
             PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
-            String killsLine = colorManager.colorizeForScoreboard("&7Kills: &a" + data.kills);
-            String deathsLine = colorManager.colorizeForScoreboard("&7Deaths: &c" + data.deaths);
-            String capturesLine = colorManager.colorizeForScoreboard("&7Captures: &6" + data.captures);
-            
-            objective.getScore(killsLine).setScore(line--);
-            objective.getScore(deathsLine).setScore(line--);
-            objective.getScore(capturesLine).setScore(line--);
+            if (data == null) continue;
+            lines.add("&7Kills: &a" + data.kills);
+            lines.add("&7Deaths: &c" + data.deaths);
+            lines.add("&7Captures: &6" + data.captures);
             
-            // Empty line
-            objective.getScore("      ").setScore(line--);
+            lines.addAll(frame.footer);
             
-            // Website/branding
-            String brandingLine = colorManager.colorizeForScoreboard("&ewww.arenawars.com");
-            objective.getScore(brandingLine).setScore(line--);
+            sidebar.update(lines, frame.components);
+        }
+    }
+    
+    private GameFrame buildFrame(CTFGame game) {
+        Map<Team, Integer> scores = game.getScores();
+        
+        List<String> header = new ArrayList<>();
+        header.add("");
+        header.add("&7Arena: &e" + game.getArena().getDisplayName());
+        header.add("");
+        header.add("&c&lRed Team: &f" + scores.get(Team.RED));
+        header.add("&9&lBlue Team: &f" + scores.get(Team.BLUE));
+        header.add("");
+        
+        int minutes = game.getGameTime() / 60;
+        int seconds = game.getGameTime() % 60;
+        
+        List<String> clock = new ArrayList<>();
+        clock.add("");
+        clock.add("&7Time: &e" + String.format("%02d:%02d", minutes, seconds));
+        clock.add("");
+        
+        List<String> footer = new ArrayList<>();
+        footer.add("");
+        footer.add("&ewww.arenawars.com");
+        
+        Map<String, Component> components = new HashMap<>();
+        for (List<String> part : List.of(header, clock, footer)) {
+            for (String line : part) {
+                components.computeIfAbsent(line, colorManager::colorize);
+            }
         }
+        
+        return new GameFrame(header, clock, footer, components);
     }
     
-    private void createGameBossBar(Player player, CTFGame game) {
-        Component title = colorManager.colorizeForBossBar("&6ArenaWars CTF - Preparing...");
+    /**
+     * Game-wide sidebar lines, rendered once per update and shared by every player's sidebar.
+     */
+    private static final class GameFrame {
+        private final List<String> header; // Arena and team scores
+        private final List<String> clock;  // Game time
+        private final List<String> footer; // Branding
+        private final Map<String, Component> components;
         
-        BossBar bossBar = BossBar.bossBar(
-            title,
+        private GameFrame(List<String> header, List<String> clock, List<String> footer, Map<String, Component> components) {
+            this.header = Collections.unmodifiableList(header);
+            this.clock = Collections.unmodifiableList(clock);
+            this.footer = Collections.unmodifiableList(footer);
+            this.components = Collections.unmodifiableMap(components);
+        }
+    }
+    
+    private void showGameBossBar(Player player, CTFGame game) {
+        BossBar bossBar = gameBossBars.computeIfAbsent(game, key -> BossBar.bossBar(
+            colorManager.colorizeForBossBar("&6ArenaWars CTF - Preparing..."),
             1.0f,
             BossBar.Color.YELLOW,
             BossBar.Overlay.PROGRESS
-        );
+        ));
         
+        BossBar previous = playerBossBars.put(player, bossBar);
+        if (previous != null && previous != bossBar) {
+            player.hideBossBar(previous);
+        }
         player.showBossBar(bossBar);
-        playerBossBars.put(player, bossBar);
     }
     
     public void updateAllScoreboards() {
@@ -157,56 +170,54 @@ public class ScoreboardManager {
     }
     
     private void updateGameBossBar(CTFGame game) {
+        BossBar bossBar = gameBossBars.get(game);
+        if (bossBar == null) return;
+        
         Map<Team, Integer> scores = game.getScores();
         int redScore = scores.get(Team.RED);
         int blueScore = scores.get(Team.BLUE);
         int capturesToWin = plugin.getConfigManager().getCapturesToWin();
         
-        for (Player player : game.getPlayers()) {
-            BossBar bossBar = playerBossBars.get(player);
-            if (bossBar == null) continue;
-            
-            // Update boss bar content based on game state
-            if (!game.isGameStarted()) {
-                // Waiting/starting
-                String waitingText = "&eWaiting for players... (" + game.getPlayers().size() + "/" + plugin.getConfigManager().getMaxPlayersPerArena() + ")";
-                bossBar.name(colorManager.colorizeForBossBar(waitingText));
-                bossBar.progress(1.0f);
-                bossBar.color(BossBar.Color.YELLOW);
-            } else if (game.isGameEnded()) {
-                // Game ended
-                bossBar.name(colorManager.colorizeForBossBar("&6Game Ended!"));
-                bossBar.progress(0.0f);
-                bossBar.color(BossBar.Color.WHITE);
+        // Update boss bar content based on game state, viewers get the change once
+        if (!game.isGameStarted()) {
+            // Waiting/starting
+            String waitingText = "&eWaiting for players... (" + game.getPlayers().size() + "/" + plugin.getConfigManager().getMaxPlayersPerArena() + ")";
+            bossBar.name(colorManager.colorizeForBossBar(waitingText));
+            bossBar.progress(1.0f);
+            bossBar.color(BossBar.Color.YELLOW);
+        } else if (game.isGameEnded()) {
+            // Game ended
+            bossBar.name(colorManager.colorizeForBossBar("&6Game Ended!"));
+            bossBar.progress(0.0f);
+            bossBar.color(BossBar.Color.WHITE);
+        } else {
+            // Active game
+            String bossBarText = String.format("&c&lRed: %d &f| &9&lBlue: %d &f| &7Time: %02d:%02d", 
+                redScore, blueScore,
+                game.getGameTime() / 60, game.getGameTime() % 60);
+            
+            bossBar.name(colorManager.colorizeForBossBar(bossBarText));
+            
+            // Progress based on highest team score
+            int maxScore = Math.max(redScore, blueScore);
+            float progress = Math.min((float) maxScore / capturesToWin, 1.0f);
+            bossBar.progress(progress);
+            
+            // Color based on leading team
+            if (redScore > blueScore) {
+                bossBar.color(BossBar.Color.RED);
+            } else if (blueScore > redScore) {
+                bossBar.color(BossBar.Color.BLUE);
             } else {
-                // Active game
-                String bossBarText = String.format("&c&lRed: %d &f| &9&lBlue: %d &f| &7Time: %02d:%02d", 
-                    redScore, blueScore,
-                    game.getGameTime() / 60, game.getGameTime() % 60);
-                
-                bossBar.name(colorManager.colorizeForBossBar(bossBarText));
-                
-                // Progress based on highest team score
-                int maxScore = Math.max(redScore, blueScore);
-                float progress = Math.min((float) maxScore / capturesToWin, 1.0f);
-                bossBar.progress(progress);
-                
-                // Color based on leading team
-                if (redScore > blueScore) {
-                    bossBar.color(BossBar.Color.RED);
-                } else if (blueScore > redScore) {
-                    bossBar.color(BossBar.Color.BLUE);
-                } else {
-                    bossBar.color(BossBar.Color.WHITE);
-                }
+                bossBar.color(BossBar.Color.WHITE);
             }
         }
     }
     
     public void removeScoreboard(Player player) {
         // Remove scoreboard
-        Scoreboard scoreboard = playerScoreboards.remove(player);
-        if (scoreboard != null) {
+        Sidebar sidebar = playerSidebars.remove(player);
+        if (sidebar != null) {
             player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
         }
         
@@ -217,8 +228,23 @@ public class ScoreboardManager {
         }
     }
     
+    /**
+     * Drops the game's shared boss bar once the game is cleaned up.
+     */
+    public void removeGame(CTFGame game) {
+        BossBar bossBar = gameBossBars.remove(game);
+        if (bossBar == null) return;
+        
+        for (Player player : new ArrayList<>(playerBossBars.keySet())) {
+            if (playerBossBars.get(player) == bossBar) {
+                playerBossBars.remove(player);
+                player.hideBossBar(bossBar);
+            }
+        }
+    }
+    
     public void removeAllScoreboards() {
-        for (Player player : new HashMap<>(playerScoreboards).keySet()) {
+        for (Player player : new HashMap<>(playerSidebars).keySet()) {
             removeScoreboard(player);
         }
     }
@@ -8,185 +8,173 @@ package com.arenawars.ctf.managers;
 import com.arenawars.ctf.ArenaWarsCTF;
 import com.arenawars.ctf.game.Team;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.entity.Player;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Tab list visibility by group: the lobby is one group and every arena is another.
+ * Players only see members of their own group. Moving between groups only touches the
+ * members of the old and new group, and names and headers are only resent when they change.
+ */
 public class TabListManager {
     
+    private static final String LOBBY_GROUP = "";
+    
     private final ArenaWarsCTF plugin;
-    private final LegacyComponentSerializer serializer;
-    private final Map<Player, String> originalPlayerNames;
+    private final ColorManager colorManager;
+    private final Map<String, Set<Player>> groups;  // Group ("" for the lobby, otherwise the arena name) -> members
+    private final Map<Player, String> playerGroups; // Player -> group
+    private final Map<Player, String> listNames;    // Last list name sent for the player
+    private final Map<Player, String> listHeaders;  // Last header and footer sent to the player
     
     public TabListManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
-        this.serializer = LegacyComponentSerializer.legacyAmpersand();
-        this.originalPlayerNames = new HashMap<>();
+        this.colorManager = new ColorManager();
+        this.groups = new HashMap<>();
+        this.playerGroups = new HashMap<>();
+        this.listNames = new HashMap<>();
+        this.listHeaders = new HashMap<>();
     }
     
+    /**
+     * Puts the player in the group matching where they are (lobby or arena).
+     */
     public void updatePlayerTabList(Player player) {
         String arenaName = plugin.getPlayerManager().getPlayerArena(player);
-        
-        if (arenaName != null) {
-            // Player is in arena - show arena-specific tab list
-            updateArenaTabList(player, arenaName);
-        } else {
-            // Player is in lobby - show lobby tab list
-            updateLobbyTabList(player);
-        }
+        moveToGroup(player, arenaName != null ? arenaName : LOBBY_GROUP);
     }
     
-    private void updateArenaTabList(Player player, String arenaName) {
-        // Hide all players first
-        for (Player otherPlayer : plugin.getServer().getOnlinePlayers()) {
-            if (!otherPlayer.equals(player)) {
-                player.hidePlayer(plugin, otherPlayer);
-            }
-        }
+    private void moveToGroup(Player player, String group) {
+        String oldGroup = playerGroups.put(player, group);
         
-        // Show only players in the same arena
-        for (Player arenaPlayer : plugin.getPlayerManager().getPlayersInArena(arenaName)) {
-            if (!arenaPlayer.equals(player) && arenaPlayer.isOnline()) {
-                player.showPlayer(plugin, arenaPlayer);
-                
-                // Update their display name based on team
-                updatePlayerDisplayName(player, arenaPlayer, arenaName);
-            }
+        if (group.equals(oldGroup)) {
+            updateListName(player);
+            return;
         }
         
-        // Update own display name
-        updateOwnDisplayName(player, arenaName);
-    }
-    
-    private void updateLobbyTabList(Player player) {
-        // Show all lobby players
-        for (Player otherPlayer : plugin.getServer().getOnlinePlayers()) {
-            if (!plugin.getPlayerManager().isInArena(otherPlayer)) {
-                player.showPlayer(plugin, otherPlayer);
+        Set<Player> newMembers = groups.computeIfAbsent(group, key -> new HashSet<>());
+        
+        if (oldGroup == null) {
+            // Fresh join: everyone starts out visible, hide whoever is outside the group
+            for (Player other : plugin.getServer().getOnlinePlayers()) {
+                if (other.equals(player)) continue;
                 
-                // Update display name for lobby
-                updateLobbyPlayerDisplayName(player, otherPlayer);
-            } else {
-                // Hide arena players
-                player.hidePlayer(plugin, otherPlayer);
+                if (newMembers.contains(other)) {
+                    other.showPlayer(plugin, player);
+                    player.showPlayer(plugin, other);
+                } else {
+                    other.hidePlayer(plugin, player);
+                    player.hidePlayer(plugin, other);
+                }
             }
-        }
-        
-        // Update own display name for lobby
-        updateOwnLobbyDisplayName(player);
-    }
-    
-    private void updatePlayerDisplayName(Player viewer, Player target, String arenaName) {
-        Team targetTeam = plugin.getPlayerManager().getPlayerTeam(target);
-        PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(target);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
-        String levelColor = plugin.getXPManager().getLevelColor(level);
-        
-        String displayName;
-        if (targetTeam != null) {
-            displayName = targetTeam.getColoredName() + " " + levelColor + "[" + level + "] " + target.getName();
         } else {
-            displayName = "&7[Waiting] " + levelColor + "[" + level + "] " + target.getName();
+            Set<Player> oldMembers = groups.get(oldGroup);
+            if (oldMembers != null) {
+                oldMembers.remove(player);
+                for (Player other : oldMembers) {
+                    other.hidePlayer(plugin, player);
+                    player.hidePlayer(plugin, other);
+                }
+                if (oldMembers.isEmpty()) {
+                    groups.remove(oldGroup);
+                }
+            }
+            
+            for (Player other : newMembers) {
+                other.showPlayer(plugin, player);
+                player.showPlayer(plugin, other);
+            }
         }
         
-        // Set custom display name in tab list
-        Component displayComponent = serializer.deserialize(displayName);
-        target.playerListName(displayComponent);
+        newMembers.add(player);
+        updateListName(player);
     }
     
-    private void updateOwnDisplayName(Player player, String arenaName) {
-        Team playerTeam = plugin.getPlayerManager().getPlayerTeam(player);
+    /**
+     * Sets the player's tab list name (seen by everyone in their group) if it changed.
+     */
+    private void updateListName(Player player) {
         PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
+        if (data == null) return;
+        int level = plugin.getXPManager().getLevel(data);
         String levelColor = plugin.getXPManager().getLevelColor(level);
         
         String displayName;
-        if (playerTeam != null) {
-            displayName = playerTeam.getColoredName() + " " + levelColor + "[" + level + "] " + player.getName();
+        if (plugin.getPlayerManager().isInArena(player)) {
+            Team playerTeam = plugin.getPlayerManager().getPlayerTeam(player);
+            if (playerTeam != null) {
+                displayName = playerTeam.getColoredName() + " " + levelColor + "[" + level + "] " + player.getName();
+            } else {
+                displayName = "&7[Waiting] " + levelColor + "[" + level + "] " + player.getName();
+            }
         } else {
-            displayName = "&7[Waiting] " + levelColor + "[" + level + "] " + player.getName();
+            String levelTitle = plugin.getXPManager().getLevelTitle(level);
+            displayName = "&b[Lobby] " + levelColor + "[" + level + " " + levelTitle + "] " + player.getName();
         }
         
-        Component displayComponent = serializer.deserialize(displayName);
-        player.playerListName(displayComponent);
-    }
-    
-    private void updateLobbyPlayerDisplayName(Player viewer, Player target) {
-        PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(target);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
-        String levelColor = plugin.getXPManager().getLevelColor(level);
-        String levelTitle = plugin.getXPManager().getLevelTitle(level);
-        
-        String displayName = "&b[Lobby] " + levelColor + "[" + level + " " + levelTitle + "] " + target.getName();
+        if (displayName.equals(listNames.put(player, displayName))) return;
         
-        Component displayComponent = serializer.deserialize(displayName);
-        target.playerListName(displayComponent);
-    }
-    
-    private void updateOwnLobbyDisplayName(Player player) {
-        PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
-        int level = plugin.getXPManager().calculateLevel(data.experience);
-        String levelColor = plugin.getXPManager().getLevelColor(level);
-        String levelTitle = plugin.getXPManager().getLevelTitle(level);
-        
-        String displayName = "&b[Lobby] " + levelColor + "[" + level + " " + levelTitle + "] " + player.getName();
-        
-        Component displayComponent = serializer.deserialize(displayName);
+        Component displayComponent = colorManager.colorize(displayName);
         player.playerListName(displayComponent);
     }
     
-    public void updateAllTabLists() {
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            updatePlayerTabList(player);
-        }
-    }
-    
     public void restorePlayerTabList(Player player) {
-        // Show all players again
-        for (Player otherPlayer : plugin.getServer().getOnlinePlayers()) {
-            player.showPlayer(plugin, otherPlayer);
+        String group = playerGroups.remove(player);
+        if (group != null) {
+            Set<Player> members = groups.get(group);
+            if (members != null) {
+                members.remove(player);
+                if (members.isEmpty()) {
+                    groups.remove(group);
+                }
+            }
         }
         
+        listNames.remove(player);
+        listHeaders.remove(player);
+        
         // Restore original display name
         player.playerListName(Component.text(player.getName()));
     }
     
     public void onPlayerJoinArena(Player player, String arenaName) {
-        // Update tab lists for all players
-        updateAllTabLists();
+        moveToGroup(player, arenaName);
     }
     
     public void onPlayerLeaveArena(Player player) {
         // Restore player to lobby tab list
-        updatePlayerTabList(player);
-        
-        // Update tab lists for all other players
-        updateAllTabLists();
+        moveToGroup(player, LOBBY_GROUP);
     }
     
     public void setTabListHeader(Player player) {
         String arenaName = plugin.getPlayerManager().getPlayerArena(player);
         
-        Component header;
-        Component footer;
+        String header;
+        String footer;
         
         if (arenaName != null) {
             // Arena header/footer
-            header = serializer.deserialize("&6&lArenaWars CTF\n&e&lArena: " + arenaName);
-            footer = serializer.deserialize("&7Your team: " + getPlayerTeamDisplay(player) + "\n&ewww.arenawars.com");
+            header = "&6&lArenaWars CTF\n&e&lArena: " + arenaName;
+            footer = "&7Your team: " + getPlayerTeamDisplay(player) + "\n&ewww.arenawars.com";
         } else {
             // Lobby header/footer
             PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
-            int level = plugin.getXPManager().calculateLevel(data.experience);
+            if (data == null) return;
+            int level = plugin.getXPManager().getLevel(data);
             String levelColor = plugin.getXPManager().getLevelColor(level);
             
-            header = serializer.deserialize("&6&lArenaWars CTF\n&b&lLobby - " + levelColor + "Level " + level);
-            footer = serializer.deserialize("&7Type &e/ctf join &7to play!\n&ewww.arenawars.com");
+            header = "&6&lArenaWars CTF\n&b&lLobby - " + levelColor + "Level " + level;
+            footer = "&7Type &e/ctf join &7to play!\n&ewww.arenawars.com";
         }
         
-        player.sendPlayerListHeaderAndFooter(header, footer);
+        // Only resend when something actually changed
+        if ((header + footer).equals(listHeaders.put(player, header + footer))) return;
+        
+        player.sendPlayerListHeaderAndFooter(colorManager.colorize(header), colorManager.colorize(footer));
     }
     
     private String getPlayerTeamDisplay(Player player) {
@@ -197,9 +185,16 @@ public class TabListManager {
         return "&7Waiting...";
     }
     
+    /**
+     * Periodic refresh of headers and list names (levels and teams change over time).
+     * Visibility is only ever changed when a player switches groups.
+     */
     public void updateAllTabListHeaders() {
         for (Player player : plugin.getServer().getOnlinePlayers()) {
             setTabListHeader(player);
+            if (playerGroups.containsKey(player)) {
+                updateListName(player);
+            }
         }
     }
 }
\ No newline at end of file
@@ -6,99 +6,114 @@
 package com.arenawars.ctf.managers;
 
 import com.arenawars.ctf.ArenaWarsCTF;
-import com.arenawars.ctf.utils.MessageUtil;
+import com.arenawars.ctf.storage.PluginSettings;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class XPManager {
     
     private final ArenaWarsCTF plugin;
     private final ColorManager colorManager;
     
-    // XP Values
-    public static final int XP_KILL = 10;
-    public static final int XP_CAPTURE = 50;
-    public static final int XP_RETURN = 25;
-    public static final int XP_WIN = 100;
-    public static final int XP_MVP = 150;
-    public static final int XP_PARTICIPATION = 20;
+    // Levels never go beyond this, even if the configured curve is flat
+    private static final int MAX_LEVEL = 1000;
     
-    // Level calculation constants
-    public static final int BASE_XP = 100;
-    public static final double XP_MULTIPLIER = 1.5;
+    private volatile LevelTable levels;
     
     public XPManager(ArenaWarsCTF plugin) {
         this.plugin = plugin;
         this.colorManager = new ColorManager();
+        this.levels = new LevelTable(xpSettings());
+    }
+    
+    private PluginSettings.XPSettings xpSettings() {
+        return plugin.getConfigManager().getSettings().xp();
+    }
+    
+    /**
+     * The level curve for the current xp-system settings, rebuilt when a reload changed them.
+     */
+    private LevelTable levels() {
+        LevelTable table = levels;
+        PluginSettings.XPSettings xp = xpSettings();
+        if (!table.matches(xp)) {
+            table = new LevelTable(xp);
+            levels = table;
+        }
+        return table;
     }
     
     public void awardKillXP(Player player) {
-        awardXP(player, XP_KILL, "Kill");
+        awardXP(player, xpSettings().killXp(), "Kill");
     }
     
     public void awardCaptureXP(Player player) {
-        awardXP(player, XP_CAPTURE, "Flag Capture");
+        awardXP(player, xpSettings().captureXp(), "Flag Capture");
     }
     
     public void awardReturnXP(Player player) {
-        awardXP(player, XP_RETURN, "Flag Return");
+        awardXP(player, xpSettings().returnXp(), "Flag Return");
     }
     
     public void awardWinXP(Player player) {
-        awardXP(player, XP_WIN, "Victory");
+        awardXP(player, xpSettings().winXp(), "Victory");
     }
     
     public void awardMVPXP(Player player) {
-        awardXP(player, XP_MVP, "MVP");
+        PluginSettings.XPSettings xp = xpSettings();
+        if (!xp.enabled()) return;
         
-        // Special MVP announcement
-        Map<String, String> placeholders = MessageUtil.createPlaceholders(
-            "player", player.getName(),
-            "xp", String.valueOf(XP_MVP)
-        );
+        awardXP(player, xp.mvpXp(), "MVP");
         
-        plugin.getMessageUtil().sendTitle(player, "&6&lMVP!", "&eYou earned " + XP_MVP + " bonus XP!");
+        // Special MVP announcement
+        plugin.getMessageUtil().sendRawTitle(player, "&6&lMVP!", "&eYou earned " + xp.mvpXp() + " bonus XP!");
         plugin.getMessageUtil().playSound(player, Sound.UI_TOAST_CHALLENGE_COMPLETE);
     }
     
     public void awardParticipationXP(Player player) {
-        awardXP(player, XP_PARTICIPATION, "Participation");
+        awardXP(player, xpSettings().participationXp(), "Participation");
+    }
+    
+    public int getMVPXP() {
+        return xpSettings().mvpXp();
     }
     
     private void awardXP(Player player, int amount, String reason) {
+        if (!xpSettings().enabled() || amount <= 0) return;
+        
         PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
+        if (data == null) return;
         int oldLevel = calculateLevel(data.experience);
         
-        data.experience += amount;
+        plugin.getPlayerManager().addExperience(player, amount);
         int newLevel = calculateLevel(data.experience);
         
         // Check for level up
         if (newLevel > oldLevel) {
             handleLevelUp(player, oldLevel, newLevel);
+            plugin.getChatManager().refreshProfile(player);
         }
         
         // Show XP gain
         showXPGain(player, amount, reason);
-        
-        // Save data
-        plugin.getPlayerManager().savePlayerData(data);
     }
     
     private void handleLevelUp(Player player, int oldLevel, int newLevel) {
-        PlayerManager.PlayerData data = plugin.getPlayerManager().getPlayerData(player);
-        
         // Calculate levels gained (in case of multiple level ups)
+        int coinsPerLevel = xpSettings().coinsPerLevel();
         for (int level = oldLevel + 1; level <= newLevel; level++) {
             // Award level up rewards
-            int coinsReward = level * 10; // 10 coins per level
+            int coinsReward = level * coinsPerLevel;
             
             // Use ColorManager for proper color processing
             String levelUpTitle = "&6&lLEVEL UP!";
             String levelUpSubtitle = "&eLevel " + level + " reached!";
             
-            plugin.getMessageUtil().sendTitle(player, levelUpTitle, levelUpSubtitle);
+            plugin.getMessageUtil().sendRawTitle(player, levelUpTitle, levelUpSubtitle);
             
             String levelUpMessage = colorManager.createSuccessMessage(
                 "LEVEL UP! You reached level " + colorManager.getLevelColor(level) + level + "&a!"
@@ -112,7 +127,7 @@ public class XPManager {
             plugin.getMessageUtil().playSound(player, Sound.ENTITY_PLAYER_LEVELUP);
             
             // Award coins (if you have an economy system)
-            data.coins += coinsReward;
+            plugin.getPlayerManager().addCoins(player, coinsReward);
         }
     }
     
@@ -124,30 +139,26 @@ public class XPManager {
         plugin.getMessageUtil().playSound(player, Sound.ENTITY_EXPERIENCE_ORB_PICKUP);
     }
     
-    public int calculateLevel(int experience) {
-        if (experience <= 0) return 1;
-        
-        int level = 1;
-        int requiredXP = BASE_XP;
-        int totalXP = 0;
-        
-        while (totalXP + requiredXP <= experience) {
-            totalXP += requiredXP;
-            level++;
-            requiredXP = (int) (BASE_XP * Math.pow(XP_MULTIPLIER, level - 1));
+    /**
+     * Returns the player's level, recomputed only when their experience or the level curve
+     * changed since the last call.
+     */
+    public int getLevel(PlayerManager.PlayerData data) {
+        LevelTable table = levels();
+        if (data.levelExperience != data.experience || data.levelTable != table) {
+            data.level = table.calculateLevel(data.experience);
+            data.levelExperience = data.experience;
+            data.levelTable = table;
         }
-        
-        return level;
+        return data.level;
+    }
+    
+    public int calculateLevel(int experience) {
+        return levels().calculateLevel(experience);
     }
     
     public int getXPForLevel(int level) {
-        if (level <= 1) return 0;
-        
-        int totalXP = 0;
-        for (int i = 1; i < level; i++) {
-            totalXP += (int) (BASE_XP * Math.pow(XP_MULTIPLIER, i - 1));
-        }
-        return totalXP;
+        return levels().getXPForLevel(level);
     }
     
     public int getXPToNextLevel(int currentXP) {
@@ -163,8 +174,8 @@ public class XPManager {
     }
     
     public int getXPRequiredForCurrentLevel(int experience) {
-        int currentLevel = calculateLevel(experience);
-        return (int) (BASE_XP * Math.pow(XP_MULTIPLIER, currentLevel - 1));
+        LevelTable table = levels();
+        return table.levelXp[table.calculateLevel(experience)];
     }
     
     public String getLevelTitle(int level) {
@@ -180,4 +191,60 @@ public class XPManager {
     public String getLevelColor(int level) {
         return colorManager.getLevelColor(level);
     }
-}
\ No newline at end of file
+    
+    /**
+     * One level curve. {@code levelXp[level]} is the XP needed to complete that level,
+     * {@code totalXp[level]} the XP at which it starts; both stop at the first level that can
+     * never be reached with an int amount of XP, or at {@link #MAX_LEVEL}.
+     */
+    static final class LevelTable {
+        private final int baseXp;
+        private final double multiplier;
+        private final int[] levelXp;
+        private final long[] totalXp;
+        
+        LevelTable(PluginSettings.XPSettings xp) {
+            this.baseXp = xp.baseXp();
+            this.multiplier = xp.xpMultiplier();
+            
+            List<Long> totals = new ArrayList<>();
+            List<Integer> requirements = new ArrayList<>();
+            totals.add(0L);        // Index 0 is unused
+            requirements.add(0);
+            
+            long total = 0;
+            for (int level = 1; total <= Integer.MAX_VALUE && level <= MAX_LEVEL; level++) {
+                int required = (int) Math.min(Integer.MAX_VALUE, baseXp * Math.pow(multiplier, level - 1));
+                totals.add(total);
+                requirements.add(required);
+                total += required;
+            }
+            
+            this.totalXp = new long[totals.size()];
+            this.levelXp = new int[requirements.size()];
+            for (int i = 0; i < totalXp.length; i++) {
+                totalXp[i] = totals.get(i);
+                levelXp[i] = requirements.get(i);
+            }
+        }
+        
+        private boolean matches(PluginSettings.XPSettings xp) {
+            return baseXp == xp.baseXp() && multiplier == xp.xpMultiplier();
+        }
+        
+        int calculateLevel(int experience) {
+            if (experience <= 0) return 1;
+            
+            // Highest level whose starting XP is at most the player's experience
+            int index = Arrays.binarySearch(totalXp, 1, totalXp.length, experience);
+            return index >= 0 ? index : -index - 2;
+        }
+        
+        int getXPForLevel(int level) {
+            if (level <= 1) return 0;
+            if (level >= totalXp.length) return Integer.MAX_VALUE;
+            
+            return (int) totalXp[level];
+        }
+    }
+}
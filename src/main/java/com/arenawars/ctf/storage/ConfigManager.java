@@ -17,6 +17,7 @@ public class ConfigManager {
     private final ArenaWarsCTF plugin;
     private FileConfiguration config;
     private FileConfiguration messages;
+    private volatile PluginSettings settings; // Replaced as a whole on reload
     private final String currentVersion = "1.0.0";
     
     public ConfigManager(ArenaWarsCTF plugin) {
@@ -34,6 +35,7 @@ public class ConfigManager {
         
         // Load configurations
         config = plugin.getConfig();
+        settings = PluginSettings.load(config);
         messages = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), "messages.yml"));
         
         // Create arenas directory
@@ -53,6 +55,12 @@ public class ConfigManager {
         String configVersion = config.getString("config-version", "0.0.0");
         
         if (!configVersion.equals(currentVersion)) {
+            if (!settings.autoUpdateConfig()) {
+                plugin.getLogger().warning("Config version " + configVersion + " differs from " + currentVersion
+                    + " but updates.auto-update-config is disabled, missing options use their defaults");
+                return;
+            }
+            
             plugin.getLogger().info("Config version mismatch. Updating from " + configVersion + " to " + currentVersion);
             updateConfig(configVersion);
         }
@@ -71,16 +79,22 @@ public class ConfigManager {
                 }
             }
             
-            // Update config version
-            config.set("config-version", currentVersion);
-            
-            // Add any missing default values without overwriting existing ones
-            addMissingDefaults();
-            
-            // Save updated config
-            plugin.saveConfig();
+            if (settings.preserveCustomSettings()) {
+                // Update config version
+                config.set("config-version", currentVersion);
+                
+                // Add any missing default values without overwriting existing ones
+                addMissingDefaults();
+                
+                // Save updated config
+                plugin.saveConfig();
+            } else {
+                // Start over from the bundled defaults
+                plugin.saveResource("config.yml", true);
+            }
             plugin.reloadConfig();
             config = plugin.getConfig();
+            settings = PluginSettings.load(config);
             
             plugin.getLogger().info("Config updated successfully to version " + currentVersion);
             
@@ -111,6 +125,7 @@ public class ConfigManager {
     public void reloadConfigs() {
         plugin.reloadConfig();
         config = plugin.getConfig();
+        settings = PluginSettings.load(config);
         messages = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), "messages.yml"));
     }
     
@@ -118,6 +133,13 @@ public class ConfigManager {
         return config;
     }
     
+    /**
+     * The config as loaded by the last (re)load; hold on to the instance for a consistent view.
+     */
+    public PluginSettings getSettings() {
+        return settings;
+    }
+    
     public FileConfiguration getMessages() {
         return messages;
     }
@@ -130,60 +152,76 @@ public class ConfigManager {
         return new File(plugin.getDataFolder(), "playerdata");
     }
     
-    // Configuration getters with defaults
+    // Configuration getters, plain reads of the current snapshot
     public int getMaxPlayersPerArena() {
-        return config.getInt("settings.max-players-per-arena", 8);
+        return settings.maxPlayersPerArena();
     }
     
     public int getMinPlayersToStart() {
-        return config.getInt("settings.min-players-to-start", 4);
+        return settings.minPlayersToStart();
     }
     
     public int getGameDuration() {
-        return config.getInt("settings.game-duration", 900);
+        return settings.gameDuration();
     }
     
     public int getRespawnDelay() {
-        return config.getInt("settings.respawn-delay", 5);
+        return settings.respawnDelay();
     }
     
     public int getSpectatorTime() {
-        return config.getInt("settings.spectator-time", 5);
+        return settings.spectatorTime();
     }
     
     public int getFlagReturnDelay() {
-        return config.getInt("settings.flag-return-delay", 30);
+        return settings.flagReturnDelay();
     }
     
     public int getCapturesToWin() {
-        return config.getInt("settings.captures-to-win", 3);
+        return settings.capturesToWin();
     }
     
     public int getSpawnProtectionTime() {
-        return config.getInt("settings.spawn-protection-time", 5);
+        return settings.spawnProtectionTime();
     }
     
     public boolean isSpawnProtectionRemoveOnHit() {
-        return config.getBoolean("settings.spawn-protection-remove-on-hit", true);
+        return settings.spawnProtectionRemoveOnHit();
     }
     
     public boolean isAutoCleanupEnabled() {
-        return config.getBoolean("settings.auto-cleanup-after-game", true);
+        return settings.autoCleanupAfterGame();
     }
     
     public int getTeleportDelay() {
-        return config.getInt("settings.teleport-delay", 3);
+        return settings.teleportDelay();
+    }
+    
+    public int getScoreboardUpdateInterval() {
+        return settings.scoreboardUpdateInterval();
     }
     
     public boolean areParticlesEnabled() {
-        return config.getBoolean("settings.enable-particles", true);
+        return settings.particlesEnabled();
     }
     
     public boolean areSoundsEnabled() {
-        return config.getBoolean("settings.enable-sounds", true);
+        return settings.soundsEnabled();
     }
     
     public boolean areTitlesEnabled() {
-        return config.getBoolean("settings.enable-titles", true);
+        return settings.titlesEnabled();
+    }
+    
+    public int getSaveInterval() {
+        return settings.saveInterval();
+    }
+    
+    public String getStorageType() {
+        return settings.storageType();
+    }
+    
+    public int getPlayerCacheSize() {
+        return settings.cacheSize();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+/**
+ * Statistics players can be ranked by with {@code /ctf top}.
+ */
+public enum LeaderboardStat {
+    KILLS("kills", "Kills"),
+    CAPTURES("captures", "Captures"),
+    WINS("wins", "Wins"),
+    EXPERIENCE("xp", "Experience"),
+    KD("kd", "K/D Ratio");
+
+    private final String id;
+    private final String displayName;
+
+    LeaderboardStat(String id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public double getScore(PlayerManager.PlayerData data) {
+        switch (this) {
+            case KILLS: return data.kills;
+            case CAPTURES: return data.captures;
+            case WINS: return data.gamesWon;
+            case EXPERIENCE: return data.experience;
+            case KD: return data.getKDRatio();
+            default: throw new IllegalStateException("Unhandled leaderboard " + this);
+        }
+    }
+
+    /**
+     * Whether a change to {@code stat} can move a player on this leaderboard.
+     */
+    public boolean dependsOn(StatType stat) {
+        switch (this) {
+            case KILLS: return stat == StatType.KILLS;
+            case CAPTURES: return stat == StatType.CAPTURES;
+            case WINS: return stat == StatType.GAMES_WON;
+            case EXPERIENCE: return stat == StatType.EXPERIENCE;
+            case KD: return stat == StatType.KILLS || stat == StatType.DEATHS;
+            default: return false;
+        }
+    }
+
+    public String formatScore(double score) {
+        return this == KD ? String.format("%.2f", score) : String.valueOf((long) score);
+    }
+
+    /**
+     * Looks a leaderboard up by its command id, or returns null.
+     */
+    public static LeaderboardStat fromId(String id) {
+        for (LeaderboardStat stat : values()) {
+            if (stat.id.equalsIgnoreCase(id)) return stat;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One {@link RankedIndex} per {@link LeaderboardStat}, kept up to date as stats change.
+ * Built from a store scan in small chunks at startup; profiles changed before their chunk
+ * arrives are already indexed with newer values and are not overwritten. Main thread only.
+ */
+public class Leaderboards {
+
+    private final Map<LeaderboardStat, RankedIndex> indexes;
+    private boolean loaded;
+
+    public Leaderboards() {
+        this.indexes = new EnumMap<>(LeaderboardStat.class);
+        for (LeaderboardStat stat : LeaderboardStat.values()) {
+            indexes.put(stat, new RankedIndex());
+        }
+    }
+
+    /**
+     * Adds a chunk of scanned profiles of players that are not indexed yet.
+     */
+    public void load(Collection<PlayerManager.PlayerData> profiles) {
+        for (PlayerManager.PlayerData data : profiles) {
+            ensureIndexed(data);
+        }
+    }
+
+    /**
+     * Called once the last chunk of the scan was loaded.
+     */
+    public void setLoaded() {
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void updateAll(PlayerManager.PlayerData data) {
+        for (Map.Entry<LeaderboardStat, RankedIndex> entry : indexes.entrySet()) {
+            entry.getValue().put(data.uuid, entry.getKey().getScore(data));
+        }
+    }
+
+    /**
+     * Repositions the player on every leaderboard the changed stat feeds into.
+     */
+    public void update(PlayerManager.PlayerData data, StatType changed) {
+        for (Map.Entry<LeaderboardStat, RankedIndex> entry : indexes.entrySet()) {
+            if (entry.getKey().dependsOn(changed)) {
+                entry.getValue().put(data.uuid, entry.getKey().getScore(data));
+            }
+        }
+    }
+
+    public void ensureIndexed(PlayerManager.PlayerData data) {
+        if (!indexes.get(LeaderboardStat.KILLS).contains(data.uuid)) {
+            updateAll(data);
+        }
+    }
+
+    /**
+     * Returns the 1-based rank, or 0 if the player is not ranked.
+     */
+    public int getRank(LeaderboardStat stat, UUID uuid) {
+        return indexes.get(stat).getRank(uuid);
+    }
+
+    public List<RankedIndex.Entry> getPage(LeaderboardStat stat, int page, int pageSize) {
+        return indexes.get(stat).getRange((page - 1) * pageSize + 1, pageSize);
+    }
+
+    public int getSize(LeaderboardStat stat) {
+        return indexes.get(stat).size();
+    }
+}
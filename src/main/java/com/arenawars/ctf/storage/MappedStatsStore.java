@@ -0,0 +1,197 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fixed-width player stats records in a single memory-mapped file.
+ *
+ * Layout: a 16 byte header (magic, version, record count, reserved) followed by
+ * 48 byte records (UUID as two longs, then the eight int stats of {@link PlayerManager.PlayerData}).
+ * Reads and updates go straight to the mapped pages; the UUID to slot index is rebuilt
+ * with one sequential pass when the file is opened.
+ *
+ * Not thread-safe, only use it from the player data I/O thread.
+ */
+public class MappedStatsStore implements PlayerDataStore {
+
+    private static final int MAGIC = 0x41575053; // "AWPS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 48;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final File file;
+    private final Map<UUID, Integer> slots;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int recordCount;
+    private int capacity;
+
+    public MappedStatsStore(File file) {
+        this.file = file;
+        this.slots = new HashMap<>();
+    }
+
+    @Override
+    public String getName() {
+        return "binary";
+    }
+
+    @Override
+    public void open() throws IOException {
+        channel = FileChannel.open(file.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            map(INITIAL_CAPACITY);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, 0);
+            buffer.putInt(12, 0);
+            recordCount = 0;
+            return;
+        }
+
+        map((int) Math.max(INITIAL_CAPACITY, (size - HEADER_SIZE) / RECORD_SIZE));
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException(file.getName() + " is not a player stats file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported player stats file version " + buffer.getInt(4));
+        }
+
+        recordCount = Math.min(buffer.getInt(8), capacity);
+        for (int slot = 0; slot < recordCount; slot++) {
+            int offset = offset(slot);
+            slots.put(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)), slot);
+        }
+    }
+
+    private void map(int records) throws IOException {
+        capacity = records;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) records * RECORD_SIZE);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    @Override
+    public boolean contains(UUID uuid) {
+        return slots.containsKey(uuid);
+    }
+
+    @Override
+    public PlayerManager.PlayerData load(UUID uuid) {
+        Integer slot = slots.get(uuid);
+        if (slot == null) return null;
+
+        return readSlot(uuid, slot);
+    }
+
+    @Override
+    public List<UUID> listIds() {
+        return new ArrayList<>(slots.keySet());
+    }
+
+    private PlayerManager.PlayerData readSlot(UUID uuid, int slot) {
+        int offset = offset(slot) + 16;
+        PlayerManager.PlayerData data = new PlayerManager.PlayerData(uuid);
+        data.kills = buffer.getInt(offset);
+        data.deaths = buffer.getInt(offset + 4);
+        data.captures = buffer.getInt(offset + 8);
+        data.returns = buffer.getInt(offset + 12);
+        data.gamesPlayed = buffer.getInt(offset + 16);
+        data.gamesWon = buffer.getInt(offset + 20);
+        data.experience = buffer.getInt(offset + 24);
+        data.coins = buffer.getInt(offset + 28);
+        return data;
+    }
+
+    /**
+     * Updates the player's record in place, appending a new one if needed.
+     */
+    public void write(PlayerManager.PlayerData data) throws IOException {
+        Integer slot = slots.get(data.uuid);
+        if (slot == null) {
+            slot = append(data.uuid);
+        }
+
+        int offset = offset(slot) + 16;
+        buffer.putInt(offset, data.kills);
+        buffer.putInt(offset + 4, data.deaths);
+        buffer.putInt(offset + 8, data.captures);
+        buffer.putInt(offset + 12, data.returns);
+        buffer.putInt(offset + 16, data.gamesPlayed);
+        buffer.putInt(offset + 20, data.gamesWon);
+        buffer.putInt(offset + 24, data.experience);
+        buffer.putInt(offset + 28, data.coins);
+    }
+
+    @Override
+    public void saveAll(Collection<PlayerManager.PlayerData> batch) throws IOException {
+        for (PlayerManager.PlayerData data : batch) {
+            write(data);
+        }
+        force();
+    }
+
+    private int append(UUID uuid) throws IOException {
+        if (recordCount == capacity) {
+            buffer.force();
+            map(capacity * 2);
+        }
+
+        int slot = recordCount++;
+        int offset = offset(slot);
+        buffer.putLong(offset, uuid.getMostSignificantBits());
+        buffer.putLong(offset + 8, uuid.getLeastSignificantBits());
+        buffer.putInt(8, recordCount); // Publish the record only after its key is written
+
+        slots.put(uuid, slot);
+        return slot;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Flushes dirty pages to disk.
+     */
+    public void force() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        buffer = null;
+        slots.clear();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Resident player profiles.
+ * Profiles of online players are pinned; once a player logs off the profile moves into
+ * a size-bounded LRU so quick rejoins skip the disk. Entries that cannot be evicted yet
+ * (e.g. unsaved changes) get a second chance and are moved to the back of the queue.
+ * Main thread only.
+ */
+public class PlayerDataCache {
+
+    private final Map<UUID, PlayerManager.PlayerData> online;
+    private final LinkedHashMap<UUID, PlayerManager.PlayerData> offline; // Access order, eldest first
+    private int capacity;
+
+    public PlayerDataCache(int capacity) {
+        this.online = new HashMap<>();
+        this.offline = new LinkedHashMap<>(16, 0.75f, true);
+        this.capacity = Math.max(0, capacity);
+    }
+
+    public PlayerManager.PlayerData get(UUID uuid) {
+        PlayerManager.PlayerData data = online.get(uuid);
+        if (data != null) return data;
+        return offline.get(uuid);
+    }
+
+    public PlayerManager.PlayerData getOnline(UUID uuid) {
+        return online.get(uuid);
+    }
+
+    /**
+     * Pins a profile for an online player. Returns the already resident copy if there is one,
+     * since it may hold changes that have not reached disk yet.
+     */
+    public PlayerManager.PlayerData pin(PlayerManager.PlayerData loaded) {
+        PlayerManager.PlayerData resident = online.get(loaded.uuid);
+        if (resident != null) return resident;
+
+        resident = offline.remove(loaded.uuid);
+        if (resident == null) {
+            resident = loaded;
+        }
+
+        online.put(resident.uuid, resident);
+        return resident;
+    }
+
+    public boolean isResident(UUID uuid) {
+        return online.containsKey(uuid) || offline.containsKey(uuid);
+    }
+
+    /**
+     * Unpins a profile when its player logs off, keeping it in the LRU until evicted.
+     */
+    public void unpin(UUID uuid) {
+        PlayerManager.PlayerData data = online.remove(uuid);
+        if (data != null) {
+            offline.put(uuid, data);
+        }
+    }
+
+    /**
+     * Evicts the least recently used offline profiles until the LRU fits its capacity.
+     * Profiles rejected by {@code canEvict} are given a second chance instead.
+     */
+    public int trim(Predicate<PlayerManager.PlayerData> canEvict) {
+        int excess = offline.size() - capacity;
+        if (excess <= 0) return 0;
+
+        int evicted = 0;
+        List<UUID> secondChance = null;
+        Iterator<PlayerManager.PlayerData> iterator = offline.values().iterator();
+
+        while (evicted < excess && iterator.hasNext()) {
+            PlayerManager.PlayerData data = iterator.next();
+
+            if (canEvict.test(data)) {
+                iterator.remove();
+                evicted++;
+            } else {
+                if (secondChance == null) secondChance = new ArrayList<>();
+                secondChance.add(data.uuid);
+            }
+        }
+
+        // Touching an entry moves it to the back of the access order
+        if (secondChance != null) {
+            for (UUID uuid : secondChance) {
+                offline.get(uuid);
+            }
+        }
+
+        return evicted;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    public int getOnlineCount() {
+        return online.size();
+    }
+
+    public int getOfflineCount() {
+        return offline.size();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.ArenaWarsCTF;
+import com.arenawars.ctf.managers.PlayerManager;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind layer for player statistics.
+ * Stat changes only mark a profile dirty on the main thread; dirty profiles are
+ * snapshotted once per save interval and written in one batch on a background I/O thread.
+ * In between, every change is also recorded in the {@link StatDeltaLog}, which is fsynced
+ * about once a second, so a crash loses at most that second instead of a whole interval.
+ * The I/O thread is the only thread that touches the {@link PlayerDataStore} and log files.
+ */
+public class PlayerDataJournal {
+
+    private static final long LOG_SYNC_INTERVAL_TICKS = 20L;
+
+    private final ArenaWarsCTF plugin;
+    private final PlayerDataStore store;
+    private final StatDeltaLog log;
+    private final Set<PlayerManager.PlayerData> dirty; // Main thread only
+    private final ExecutorService ioExecutor;
+    private Runnable flushListener;
+    private BukkitTask flushTask;
+    private BukkitTask syncTask;
+
+    public PlayerDataJournal(ArenaWarsCTF plugin, PlayerDataStore store, StatDeltaLog log) {
+        this.plugin = plugin;
+        this.store = store;
+        this.log = log;
+        this.dirty = new LinkedHashSet<>();
+        this.ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ArenaWarsCTF-PlayerData-IO");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        long period = Math.max(1, plugin.getConfigManager().getSaveInterval()) * 20L;
+        flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            flush();
+            if (flushListener != null) {
+                flushListener.run();
+            }
+        }, period, period);
+
+        syncTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::syncLog,
+            LOG_SYNC_INTERVAL_TICKS, LOG_SYNC_INTERVAL_TICKS);
+    }
+
+    /**
+     * Called on the main thread after each periodic flush.
+     */
+    public void setFlushListener(Runnable flushListener) {
+        this.flushListener = flushListener;
+    }
+
+    /**
+     * Records a stat change that has already been applied to {@code data}.
+     */
+    public void record(PlayerManager.PlayerData data, StatType stat, int delta) {
+        log.append(data.uuid, stat, delta);
+        dirty.add(data);
+    }
+
+    public void markDirty(PlayerManager.PlayerData data) {
+        dirty.add(data);
+    }
+
+    public boolean isDirty(PlayerManager.PlayerData data) {
+        return dirty.contains(data);
+    }
+
+    public int getPendingCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Group commit: hands the changes buffered since the last sync to the I/O thread.
+     */
+    private void syncLog() {
+        if (!log.hasPending()) return;
+
+        StatDeltaLog.Batch records = log.drain();
+        ioExecutor.execute(() -> {
+            try {
+                log.write(records);
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to write the stat journal: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Snapshots every dirty profile on the calling (main) thread and hands the
+     * batch to the I/O thread, so the store never sees a half-updated profile.
+     * The log segment is rotated at the same moment, so the snapshot covers every
+     * change in it and the segment can be compacted away.
+     */
+    public void flush() {
+        // A failed save is retried even when nothing changed since
+        if (dirty.isEmpty() && !log.hasUnsaved()) return;
+
+        StatDeltaLog.Batch records = log.rotate();
+        List<PlayerManager.PlayerData> batch = new ArrayList<>(dirty.size());
+        for (PlayerManager.PlayerData data : dirty) {
+            batch.add(data.copy());
+        }
+        dirty.clear();
+
+        ioExecutor.execute(() -> checkpoint(records, batch));
+    }
+
+    /**
+     * Runs a read on the I/O thread. Reads are queued behind every batch flushed before them,
+     * so they always observe the latest written state.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, ioExecutor);
+    }
+
+    /**
+     * Loads a profile, preferring values a failed save kept from reaching the store.
+     * I/O thread only, e.g. through {@link #submit(Supplier)}.
+     */
+    public PlayerManager.PlayerData load(UUID uuid) throws IOException {
+        PlayerManager.PlayerData data = log.findUnsaved(uuid);
+        return data != null ? data : store.load(uuid);
+    }
+
+    private void checkpoint(StatDeltaLog.Batch records, List<PlayerManager.PlayerData> batch) {
+        // The store is only written once a snapshot covers everything it is missing
+        List<PlayerManager.PlayerData> profiles;
+        try {
+            log.write(records);
+            profiles = log.checkpoint(records.getSegmentId(), batch);
+        } catch (IOException e) {
+            log.keepUnsaved(batch);
+            plugin.getLogger().severe("Failed to checkpoint the stat journal, retrying with the next save: " + e.getMessage());
+            return;
+        }
+
+        try {
+            store.saveAll(profiles);
+        } catch (IOException e) {
+            // Kept in the snapshot and in memory, and saved again by the next checkpoint
+            plugin.getLogger().severe("Failed to save " + profiles.size() + " player profiles to " + store.getName() + " storage, retrying with the next save: " + e.getMessage());
+            return;
+        }
+
+        try {
+            log.completeCheckpoint(records.getSegmentId());
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to delete stat journal snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes everything still pending and waits at most {@code timeoutMillis} for the I/O thread to finish.
+     * The log and store are closed as the I/O thread's last task; after a timeout the thread is left
+     * to finish its writes instead of closing the store under it.
+     */
+    public void shutdown(long timeoutMillis) {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if (syncTask != null) {
+            syncTask.cancel();
+            syncTask = null;
+        }
+
+        flush();
+        // Closed on the I/O thread after everything queued before, so nothing writes to a closed store
+        ioExecutor.execute(() -> {
+            try {
+                log.close();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to close the stat journal: " + e.getMessage());
+            }
+            try {
+                store.close();
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to close " + store.getName() + " storage: " + e.getMessage());
+            }
+        });
+        ioExecutor.shutdown();
+
+        try {
+            if (!ioExecutor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                // Not interrupted: an interrupt closes file channels under the running write
+                plugin.getLogger().warning("Timed out waiting for player data to be written, some stats may be lost; "
+                    + "the store is closed once the pending writes finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistence backend for player statistics, selected with {@code storage.type}.
+ * Implementations are only ever called from the player data I/O thread.
+ */
+public interface PlayerDataStore {
+
+    /**
+     * Short name used in logs, matches the {@code storage.type} value.
+     */
+    String getName();
+
+    void open() throws IOException;
+
+    boolean contains(UUID uuid) throws IOException;
+
+    /**
+     * Returns the stored profile, or null if the player has never been saved.
+     */
+    PlayerManager.PlayerData load(UUID uuid) throws IOException;
+
+    /**
+     * Returns the UUIDs of all stored profiles without reading them, so indexes over all
+     * players can be built a few profiles at a time.
+     */
+    List<UUID> listIds() throws IOException;
+
+    /**
+     * Writes a batch of profile snapshots, replacing existing records.
+     */
+    void saveAll(Collection<PlayerManager.PlayerData> batch) throws IOException;
+
+    void close() throws IOException;
+}
@@ -0,0 +1,114 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Every value of config.yml, read once per load. {@link ConfigManager} publishes a new
+ * instance on reload, so readers never see a half-reloaded config.
+ */
+public record PluginSettings(
+    // settings.*
+    int maxPlayersPerArena,
+    int minPlayersToStart,
+    int gameDuration,
+    int respawnDelay,
+    int spectatorTime,
+    int flagReturnDelay,
+    int capturesToWin,
+    int spawnProtectionTime,
+    boolean spawnProtectionRemoveOnHit,
+    boolean autoCleanupAfterGame,
+    int teleportDelay,
+    int scoreboardUpdateInterval,
+    boolean particlesEnabled,
+    boolean soundsEnabled,
+    boolean titlesEnabled,
+    XPSettings xp,
+    // storage.*
+    String storageType,
+    int saveInterval,
+    int cacheSize,
+    boolean backupOnStart,
+    // permissions.*
+    boolean usePermissionSystem,
+    String defaultPermission,
+    // updates.*
+    boolean checkForUpdates,
+    boolean autoUpdateConfig,
+    boolean preserveCustomSettings,
+    // debug.*
+    boolean debugEnabled,
+    boolean logGameEvents,
+    boolean logPlayerActions
+) {
+
+    public static PluginSettings load(FileConfiguration config) {
+        return new PluginSettings(
+            config.getInt("settings.max-players-per-arena", 8),
+            config.getInt("settings.min-players-to-start", 4),
+            config.getInt("settings.game-duration", 900),
+            config.getInt("settings.respawn-delay", 5),
+            config.getInt("settings.spectator-time", 5),
+            config.getInt("settings.flag-return-delay", 30),
+            config.getInt("settings.captures-to-win", 3),
+            config.getInt("settings.spawn-protection-time", 5),
+            config.getBoolean("settings.spawn-protection-remove-on-hit", true),
+            config.getBoolean("settings.auto-cleanup-after-game", true),
+            Math.max(0, config.getInt("settings.teleport-delay", 3)),
+            Math.max(1, config.getInt("settings.scoreboard-update-interval", 2)),
+            config.getBoolean("settings.enable-particles", true),
+            config.getBoolean("settings.enable-sounds", true),
+            config.getBoolean("settings.enable-titles", true),
+            XPSettings.load(config),
+            config.getString("storage.type", "file").toLowerCase(),
+            config.getInt("storage.save-interval", 300),
+            config.getInt("storage.cache-size", 1000),
+            config.getBoolean("storage.backup-on-start", true),
+            config.getBoolean("permissions.use-permission-system", true),
+            config.getString("permissions.default-permission", "arenawars.ctf.use"),
+            config.getBoolean("updates.check-for-updates", true),
+            config.getBoolean("updates.auto-update-config", true),
+            config.getBoolean("updates.preserve-custom-settings", true),
+            config.getBoolean("debug.enabled", false),
+            config.getBoolean("debug.log-game-events", false),
+            config.getBoolean("debug.log-player-actions", false)
+        );
+    }
+
+    /**
+     * xp-system.*; the level curve is fully described by {@code baseXp} and {@code xpMultiplier}.
+     */
+    public record XPSettings(
+        boolean enabled,
+        int killXp,
+        int captureXp,
+        int returnXp,
+        int winXp,
+        int mvpXp,
+        int participationXp,
+        int baseXp,
+        double xpMultiplier,
+        int coinsPerLevel
+    ) {
+
+        static XPSettings load(FileConfiguration config) {
+            return new XPSettings(
+                config.getBoolean("xp-system.enabled", true),
+                config.getInt("xp-system.kill-xp", 10),
+                config.getInt("xp-system.capture-xp", 50),
+                config.getInt("xp-system.return-xp", 25),
+                config.getInt("xp-system.win-xp", 100),
+                config.getInt("xp-system.mvp-xp", 150),
+                config.getInt("xp-system.participation-xp", 20),
+                Math.max(1, config.getInt("xp-system.base-xp", 100)),
+                Math.max(1.0, config.getDouble("xp-system.xp-multiplier", 1.5)),
+                config.getInt("xp-system.coins-per-level", 10)
+            );
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Players ordered by a score, highest first, as an indexable skip list.
+ * Each forward link stores how many entries it skips, so updates, rank lookups and
+ * jumping to a page all take O(log n); reading a page of k entries is O(log n + k).
+ * Equal scores are ordered by UUID so ranks are stable. Main thread only.
+ */
+public class RankedIndex {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final Node head;
+    private final Map<UUID, Node> nodes;
+    private final SplittableRandom random;
+    private int level;
+
+    public RankedIndex() {
+        this.head = new Node(null, 0, MAX_LEVEL);
+        this.nodes = new HashMap<>();
+        this.random = new SplittableRandom();
+        this.level = 1;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public boolean contains(UUID uuid) {
+        return nodes.containsKey(uuid);
+    }
+
+    /**
+     * Inserts the player or moves them to their new position.
+     */
+    public void put(UUID uuid, double score) {
+        Node existing = nodes.get(uuid);
+        if (existing != null) {
+            if (Double.compare(existing.score, score) == 0) return;
+            unlink(existing);
+        }
+
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && compare(x.next[i], score, uuid) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = nodes.size();
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(uuid, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+
+        nodes.put(uuid, node);
+    }
+
+    public void remove(UUID uuid) {
+        Node node = nodes.get(uuid);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    private void unlink(Node node) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && compare(x.next[i], node.score, node.uuid) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+
+        nodes.remove(node.uuid);
+    }
+
+    /**
+     * Returns the 1-based rank of the player, or 0 if they are not ranked.
+     */
+    public int getRank(UUID uuid) {
+        Node node = nodes.get(uuid);
+        if (node == null) return 0;
+
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && compare(x.next[i], node.score, node.uuid) <= 0) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x == node) return rank;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns up to {@code limit} entries starting at the 1-based {@code fromRank}.
+     */
+    public List<Entry> getRange(int fromRank, int limit) {
+        if (fromRank < 1 || fromRank > nodes.size() || limit <= 0) return Collections.emptyList();
+
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= fromRank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == fromRank) break;
+        }
+
+        List<Entry> entries = new ArrayList<>(Math.min(limit, nodes.size() - fromRank + 1));
+        int rank = fromRank;
+        while (x != null && entries.size() < limit) {
+            entries.add(new Entry(x.uuid, x.score, rank++));
+            x = x.next[0];
+        }
+
+        return entries;
+    }
+
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        nodes.clear();
+        level = 1;
+    }
+
+    // Negative if the node belongs before (score, uuid)
+    private static int compare(Node node, double score, UUID uuid) {
+        int result = Double.compare(score, node.score);
+        return result != 0 ? result : node.uuid.compareTo(uuid);
+    }
+
+    private int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        private final UUID uuid;
+        private final double score;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(UUID uuid, double score, int level) {
+            this.uuid = uuid;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    public static final class Entry {
+        public final UUID uuid;
+        public final double score;
+        public final int rank;
+
+        private Entry(UUID uuid, double score, int rank) {
+            this.uuid = uuid;
+            this.score = score;
+            this.rank = rank;
+        }
+    }
+}
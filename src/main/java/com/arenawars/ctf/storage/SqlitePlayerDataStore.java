@@ -0,0 +1,186 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Embedded SQLite database ({@code playerstats.db}) using the driver bundled with the server.
+ * Keeps a single connection with prepared statements; batches are written as one
+ * transaction of upserts.
+ */
+public class SqlitePlayerDataStore implements PlayerDataStore {
+
+    private static final String CREATE_TABLE =
+        "CREATE TABLE IF NOT EXISTS player_stats (" +
+        "uuid TEXT PRIMARY KEY, kills INTEGER NOT NULL, deaths INTEGER NOT NULL, " +
+        "captures INTEGER NOT NULL, returns INTEGER NOT NULL, games_played INTEGER NOT NULL, " +
+        "games_won INTEGER NOT NULL, experience INTEGER NOT NULL, coins INTEGER NOT NULL)";
+
+    private static final String COLUMNS =
+        "kills, deaths, captures, returns, games_played, games_won, experience, coins";
+
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM player_stats WHERE uuid = ?";
+
+    private static final String SELECT_IDS = "SELECT uuid FROM player_stats";
+
+    private static final String UPSERT =
+        "INSERT INTO player_stats (uuid, " + COLUMNS + ") " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT(uuid) DO UPDATE SET " +
+        "kills = excluded.kills, deaths = excluded.deaths, captures = excluded.captures, " +
+        "returns = excluded.returns, games_played = excluded.games_played, games_won = excluded.games_won, " +
+        "experience = excluded.experience, coins = excluded.coins";
+
+    private final File file;
+    private Connection connection;
+    private PreparedStatement selectStatement;
+    private PreparedStatement upsertStatement;
+
+    public SqlitePlayerDataStore(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    @Override
+    public void open() throws IOException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+            connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute(CREATE_TABLE);
+            }
+
+            selectStatement = connection.prepareStatement(SELECT);
+            upsertStatement = connection.prepareStatement(UPSERT);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("SQLite driver not available on this server", e);
+        } catch (SQLException e) {
+            throw new IOException("Failed to open " + file.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean contains(UUID uuid) throws IOException {
+        return load(uuid) != null;
+    }
+
+    @Override
+    public PlayerManager.PlayerData load(UUID uuid) throws IOException {
+        try {
+            selectStatement.setString(1, uuid.toString());
+
+            try (ResultSet result = selectStatement.executeQuery()) {
+                if (!result.next()) return null;
+
+                return read(uuid, result, 1);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to load " + uuid + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<UUID> listIds() throws IOException {
+        List<UUID> ids = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(SELECT_IDS)) {
+            while (result.next()) {
+                try {
+                    ids.add(UUID.fromString(result.getString(1)));
+                } catch (IllegalArgumentException ignored) {
+                    // Not written by this plugin
+                }
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new IOException("Failed to scan player_stats: " + e.getMessage(), e);
+        }
+    }
+
+    private static PlayerManager.PlayerData read(UUID uuid, ResultSet result, int column) throws SQLException {
+        PlayerManager.PlayerData data = new PlayerManager.PlayerData(uuid);
+        data.kills = result.getInt(column);
+        data.deaths = result.getInt(column + 1);
+        data.captures = result.getInt(column + 2);
+        data.returns = result.getInt(column + 3);
+        data.gamesPlayed = result.getInt(column + 4);
+        data.gamesWon = result.getInt(column + 5);
+        data.experience = result.getInt(column + 6);
+        data.coins = result.getInt(column + 7);
+        return data;
+    }
+
+    @Override
+    public void saveAll(Collection<PlayerManager.PlayerData> batch) throws IOException {
+        if (batch.isEmpty()) return;
+
+        try {
+            connection.setAutoCommit(false);
+
+            for (PlayerManager.PlayerData data : batch) {
+                upsertStatement.setString(1, data.uuid.toString());
+                upsertStatement.setInt(2, data.kills);
+                upsertStatement.setInt(3, data.deaths);
+                upsertStatement.setInt(4, data.captures);
+                upsertStatement.setInt(5, data.returns);
+                upsertStatement.setInt(6, data.gamesPlayed);
+                upsertStatement.setInt(7, data.gamesWon);
+                upsertStatement.setInt(8, data.experience);
+                upsertStatement.setInt(9, data.coins);
+                upsertStatement.addBatch();
+            }
+
+            upsertStatement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // Nothing more to do, the original error is reported below
+            }
+            throw new IOException("Failed to save " + batch.size() + " profiles: " + e.getMessage(), e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (connection == null) return;
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("Failed to close " + file.getName() + ": " + e.getMessage(), e);
+        } finally {
+            connection = null;
+        }
+    }
+}
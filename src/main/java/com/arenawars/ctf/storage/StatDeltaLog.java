@@ -0,0 +1,376 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Append-only log of stat changes that makes write-behind saving crash safe.
+ *
+ * Every change is a fixed 24 byte record (UUID, stat id, delta) appended to an in-memory
+ * buffer on the main thread. The buffer is handed to the I/O thread about once a second and
+ * written to the current {@code segment-<id>.log} with a single fsync (group commit).
+ *
+ * A checkpoint closes the segment and folds it into a {@code snapshot-<id>.dat} holding the
+ * absolute values of every profile it touched, plus every profile of earlier checkpoints the
+ * store has not accepted yet. Once the snapshot is durable the segments and older snapshots
+ * are deleted, and once the store accepted the profiles the snapshot is deleted as well. The
+ * store is never written before such a snapshot exists, so no snapshot on disk is older than
+ * the store. Applying a snapshot is idempotent, so a crash at any point of a checkpoint is
+ * recovered by {@link #recover(PlayerDataStore)} on the next start.
+ *
+ * Append and drain methods are main thread only; everything touching files is I/O thread only.
+ */
+public class StatDeltaLog {
+
+    private static final int RECORD_SIZE = 24;
+    private static final int SNAPSHOT_RECORD_SIZE = 16 + StatType.values().length * 4;
+    private static final int INITIAL_BUFFER_RECORDS = 2048;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+
+    private final File directory;
+    private final Logger logger;
+
+    // Main thread
+    private ByteBuffer pending;
+    private long segmentId;
+
+    // I/O thread
+    private FileChannel channel;
+    private long channelSegmentId;
+    private final Map<UUID, PlayerManager.PlayerData> unsaved; // Snapshotted, not yet accepted by the store
+    private volatile boolean hasUnsaved;
+
+    public StatDeltaLog(File directory, Logger logger) {
+        this.directory = directory;
+        this.logger = logger;
+        this.pending = ByteBuffer.allocate(INITIAL_BUFFER_RECORDS * RECORD_SIZE);
+        this.segmentId = 1;
+        this.unsaved = new LinkedHashMap<>();
+    }
+
+    /**
+     * Buffers one stat change. Nothing is written until the next {@link #drain()}.
+     */
+    public void append(UUID uuid, StatType stat, int delta) {
+        if (delta == 0) return;
+
+        if (pending.remaining() < RECORD_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2);
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+
+        pending.putLong(uuid.getMostSignificantBits());
+        pending.putLong(uuid.getLeastSignificantBits());
+        pending.putInt(stat.ordinal());
+        pending.putInt(delta);
+    }
+
+    public boolean hasPending() {
+        return pending.position() > 0;
+    }
+
+    /**
+     * Takes the buffered records for the current segment, to be passed to {@link #write(Batch)}.
+     */
+    public Batch drain() {
+        ByteBuffer records = pending;
+        pending = ByteBuffer.allocate(records.capacity());
+        records.flip();
+        return new Batch(segmentId, records);
+    }
+
+    /**
+     * Drains the buffer and starts a new segment. Every change appended before this call
+     * belongs to the returned batch's segment or an older one.
+     */
+    public Batch rotate() {
+        Batch batch = drain();
+        segmentId++;
+        return batch;
+    }
+
+    /**
+     * Appends a drained batch to its segment and fsyncs it.
+     */
+    public void write(Batch batch) throws IOException {
+        if (!batch.records.hasRemaining()) return;
+
+        if (channel == null || channelSegmentId != batch.segmentId) {
+            closeSegment();
+            channel = FileChannel.open(segmentFile(batch.segmentId).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channelSegmentId = batch.segmentId;
+        }
+
+        while (batch.records.hasRemaining()) {
+            channel.write(batch.records);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Folds every segment up to and including {@code segmentId} into a snapshot of the given
+     * profiles, which must have been taken together with the matching {@link #rotate()}.
+     * Profiles of earlier checkpoints the store did not accept are carried over.
+     *
+     * @return every profile the store has not accepted yet, to be saved next
+     */
+    public List<PlayerManager.PlayerData> checkpoint(long segmentId, Collection<PlayerManager.PlayerData> profiles) throws IOException {
+        if (channelSegmentId <= segmentId) {
+            closeSegment();
+        }
+
+        keepUnsaved(profiles);
+        if (!unsaved.isEmpty()) {
+            writeSnapshot(segmentId, unsaved.values());
+        }
+
+        // The new snapshot holds everything the store is missing, older files are superseded
+        for (long id : listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).keySet()) {
+            if (id < segmentId) {
+                Files.deleteIfExists(snapshotFile(id).toPath());
+            }
+        }
+        for (long id : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX).keySet()) {
+            if (id <= segmentId) {
+                Files.deleteIfExists(segmentFile(id).toPath());
+            }
+        }
+
+        return new ArrayList<>(unsaved.values());
+    }
+
+    /**
+     * Called once the store has accepted the profiles returned by checkpoint {@code segmentId}.
+     */
+    public void completeCheckpoint(long segmentId) throws IOException {
+        unsaved.clear();
+        hasUnsaved = false;
+        Files.deleteIfExists(snapshotFile(segmentId).toPath());
+    }
+
+    /**
+     * Holds profiles the store has not accepted, so the next checkpoint saves them again.
+     * Later values replace earlier ones.
+     */
+    public void keepUnsaved(Collection<PlayerManager.PlayerData> profiles) {
+        for (PlayerManager.PlayerData data : profiles) {
+            unsaved.put(data.uuid, data);
+        }
+        hasUnsaved = !unsaved.isEmpty();
+    }
+
+    /**
+     * Whether a failed save is waiting to be retried. Safe to call from any thread.
+     */
+    public boolean hasUnsaved() {
+        return hasUnsaved;
+    }
+
+    /**
+     * Returns a copy of the profile if the store does not have its latest values yet, or null.
+     */
+    public PlayerManager.PlayerData findUnsaved(UUID uuid) {
+        PlayerManager.PlayerData data = unsaved.get(uuid);
+        return data != null ? data.copy() : null;
+    }
+
+    private void writeSnapshot(long segmentId, Collection<PlayerManager.PlayerData> profiles) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(profiles.size() * SNAPSHOT_RECORD_SIZE);
+        for (PlayerManager.PlayerData data : profiles) {
+            buffer.putLong(data.uuid.getMostSignificantBits());
+            buffer.putLong(data.uuid.getLeastSignificantBits());
+            for (StatType stat : StatType.values()) {
+                buffer.putInt(stat.get(data));
+            }
+        }
+        buffer.flip();
+
+        Path target = snapshotFile(segmentId).toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel out = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replays whatever a previous run left behind into the store and clears the log directory.
+     * Must run before anything is appended.
+     *
+     * @return the number of recovered profiles
+     */
+    public int recover(PlayerDataStore store) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        // Leftovers of a snapshot that was never completed
+        File[] temps = directory.listFiles((dir, name) -> name.endsWith(".tmp"));
+        if (temps != null) {
+            for (File file : temps) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+
+        TreeMap<Long, File> snapshots = listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        TreeMap<Long, File> segments = listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        long lastSnapshot = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+        Map<UUID, PlayerManager.PlayerData> recovered = new LinkedHashMap<>();
+
+        // Snapshots hold absolute values, newer ones win
+        for (File file : snapshots.values()) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            while (buffer.remaining() >= SNAPSHOT_RECORD_SIZE) {
+                PlayerManager.PlayerData data = new PlayerManager.PlayerData(new UUID(buffer.getLong(), buffer.getLong()));
+                for (StatType stat : StatType.values()) {
+                    stat.set(data, buffer.getInt());
+                }
+                recovered.put(data.uuid, data);
+            }
+        }
+
+        // Segments newer than the last snapshot hold changes the store has never seen
+        int replayed = 0;
+        for (Map.Entry<Long, File> entry : segments.tailMap(lastSnapshot, false).entrySet()) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(entry.getValue().toPath()));
+
+            while (buffer.remaining() >= RECORD_SIZE) {
+                UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+                StatType stat = StatType.byId(buffer.getInt());
+                int delta = buffer.getInt();
+
+                if (stat == null) {
+                    logger.warning("Stopped replaying " + entry.getValue().getName() + " at a corrupt record");
+                    break;
+                }
+
+                PlayerManager.PlayerData data = recovered.get(uuid);
+                if (data == null) {
+                    data = store.load(uuid);
+                    if (data == null) {
+                        data = new PlayerManager.PlayerData(uuid);
+                    }
+                    recovered.put(uuid, data);
+                }
+
+                stat.add(data, delta);
+                replayed++;
+            }
+        }
+
+        long lastId = Math.max(lastSnapshot, segments.isEmpty() ? 0 : segments.lastKey());
+        segmentId = lastId + 1;
+
+        if (!recovered.isEmpty()) {
+            try {
+                store.saveAll(recovered.values());
+            } catch (IOException e) {
+                // The files stay until the first checkpoint, which saves the profiles again
+                keepUnsaved(recovered.values());
+                throw e;
+            }
+            logger.info("Recovered " + recovered.size() + " player profiles (" + replayed + " unsaved stat changes) from the stat journal");
+        }
+
+        for (File file : snapshots.values()) {
+            Files.deleteIfExists(file.toPath());
+        }
+        for (File file : segments.values()) {
+            Files.deleteIfExists(file.toPath());
+        }
+
+        return recovered.size();
+    }
+
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel == null) return;
+
+        try {
+            channel.force(false);
+            channel.close();
+        } finally {
+            channel = null;
+        }
+    }
+
+    private TreeMap<Long, File> listFiles(String prefix, String suffix) {
+        TreeMap<Long, File> files = new TreeMap<>();
+        File[] candidates = directory.listFiles();
+        if (candidates == null) return files;
+
+        for (File file : candidates) {
+            String name = file.getName();
+            if (!name.startsWith(prefix) || !name.endsWith(suffix)) continue;
+
+            try {
+                files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())), file);
+            } catch (NumberFormatException ignored) {
+                // Not one of ours
+            }
+        }
+
+        return files;
+    }
+
+    private File segmentFile(long id) {
+        return new File(directory, SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+    }
+
+    private File snapshotFile(long id) {
+        return new File(directory, SNAPSHOT_PREFIX + id + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Records drained from the main thread buffer, tagged with the segment they belong to.
+     */
+    public static final class Batch {
+        private final long segmentId;
+        private final ByteBuffer records;
+
+        private Batch(long segmentId, ByteBuffer records) {
+            this.segmentId = segmentId;
+            this.records = records;
+        }
+
+        public long getSegmentId() {
+            return segmentId;
+        }
+    }
+}
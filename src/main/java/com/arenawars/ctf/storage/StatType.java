@@ -0,0 +1,63 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+/**
+ * Persistent counters of a {@link PlayerManager.PlayerData}. The ordinal is the id written
+ * to the stat delta log, so only ever append new constants.
+ */
+public enum StatType {
+    KILLS,
+    DEATHS,
+    CAPTURES,
+    RETURNS,
+    GAMES_PLAYED,
+    GAMES_WON,
+    EXPERIENCE,
+    COINS;
+
+    private static final StatType[] VALUES = values();
+
+    public int get(PlayerManager.PlayerData data) {
+        switch (this) {
+            case KILLS: return data.kills;
+            case DEATHS: return data.deaths;
+            case CAPTURES: return data.captures;
+            case RETURNS: return data.returns;
+            case GAMES_PLAYED: return data.gamesPlayed;
+            case GAMES_WON: return data.gamesWon;
+            case EXPERIENCE: return data.experience;
+            case COINS: return data.coins;
+            default: throw new IllegalStateException("Unhandled stat " + this);
+        }
+    }
+
+    public void set(PlayerManager.PlayerData data, int value) {
+        switch (this) {
+            case KILLS: data.kills = value; break;
+            case DEATHS: data.deaths = value; break;
+            case CAPTURES: data.captures = value; break;
+            case RETURNS: data.returns = value; break;
+            case GAMES_PLAYED: data.gamesPlayed = value; break;
+            case GAMES_WON: data.gamesWon = value; break;
+            case EXPERIENCE: data.experience = value; break;
+            case COINS: data.coins = value; break;
+        }
+    }
+
+    public void add(PlayerManager.PlayerData data, int delta) {
+        set(data, get(data) + delta);
+    }
+
+    /**
+     * Returns the stat with the given id, or null if the id is unknown.
+     */
+    public static StatType byId(int id) {
+        return id >= 0 && id < VALUES.length ? VALUES[id] : null;
+    }
+}
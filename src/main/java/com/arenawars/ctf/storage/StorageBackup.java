@@ -0,0 +1,105 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Copies the active player data store into {@code backups/<timestamp>/} on startup
+ * (storage.backup-on-start). Only the newest {@link #KEPT_BACKUPS} backups are kept.
+ * Runs on the store's I/O thread, so nothing writes to the files while they are copied.
+ */
+public class StorageBackup {
+
+    private static final int KEPT_BACKUPS = 5;
+
+    private final File backupsFolder;
+    private final Logger logger;
+
+    public StorageBackup(File dataFolder, Logger logger) {
+        this.backupsFolder = new File(dataFolder, "backups");
+        this.logger = logger;
+    }
+
+    /**
+     * Copies the given files and folders; missing ones are skipped.
+     */
+    public void backup(File... sources) {
+        List<File> existing = new ArrayList<>();
+        for (File source : sources) {
+            if (source.exists()) {
+                existing.add(source);
+            }
+        }
+        if (existing.isEmpty()) return;
+
+        // Restarts within the same millisecond still get their own folder
+        String name = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+        File target = new File(backupsFolder, name);
+        for (int i = 1; target.exists(); i++) {
+            target = new File(backupsFolder, name + "-" + i);
+        }
+
+        try {
+            for (File source : existing) {
+                copy(source.toPath(), target.toPath().resolve(source.getName()));
+            }
+            logger.info("Backed up player data to backups/" + target.getName());
+        } catch (IOException e) {
+            logger.warning("Failed to back up player data: " + e.getMessage());
+            return;
+        }
+
+        prune();
+    }
+
+    private void copy(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target);
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination);
+                }
+            }
+        }
+    }
+
+    // Timestamped names sort chronologically
+    private void prune() {
+        File[] backups = backupsFolder.listFiles(File::isDirectory);
+        if (backups == null || backups.length <= KEPT_BACKUPS) return;
+
+        Arrays.sort(backups);
+        for (int i = 0; i < backups.length - KEPT_BACKUPS; i++) {
+            try (Stream<Path> paths = Files.walk(backups[i].toPath())) {
+                // Children before their folders
+                for (Path path : (Iterable<Path>) paths.sorted((a, b) -> b.compareTo(a))::iterator) {
+                    Files.delete(path);
+                }
+            } catch (IOException e) {
+                logger.warning("Failed to delete old backup " + backups[i].getName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One {@code <uuid>.yml} file per player in the {@code playerdata} folder.
+ */
+public class YamlPlayerDataStore implements PlayerDataStore {
+
+    private final File folder;
+
+    public YamlPlayerDataStore(File folder) {
+        this.folder = folder;
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public void open() {
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+    }
+
+    @Override
+    public boolean contains(UUID uuid) {
+        return getFile(uuid).exists();
+    }
+
+    @Override
+    public PlayerManager.PlayerData load(UUID uuid) {
+        File file = getFile(uuid);
+        if (!file.exists()) return null;
+
+        return read(uuid, file);
+    }
+
+    @Override
+    public List<UUID> listIds() throws IOException {
+        List<UUID> ids = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder.toPath(), "*.yml")) {
+            for (Path path : files) {
+                String fileName = path.getFileName().toString();
+
+                try {
+                    ids.add(UUID.fromString(fileName.substring(0, fileName.length() - 4)));
+                } catch (IllegalArgumentException ignored) {
+                    // Not a player data file
+                }
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void saveAll(Collection<PlayerManager.PlayerData> batch) throws IOException {
+        IOException failure = null;
+
+        for (PlayerManager.PlayerData data : batch) {
+            try {
+                write(data);
+            } catch (IOException e) {
+                failure = e; // Keep writing the rest of the batch
+            }
+        }
+
+        if (failure != null) throw failure;
+    }
+
+    private void write(PlayerManager.PlayerData data) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+
+        config.set("kills", data.kills);
+        config.set("deaths", data.deaths);
+        config.set("captures", data.captures);
+        config.set("returns", data.returns);
+        config.set("games-played", data.gamesPlayed);
+        config.set("games-won", data.gamesWon);
+        config.set("experience", data.experience);
+        config.set("coins", data.coins);
+
+        // Write to a temporary file first so a crash never leaves a half-written profile behind
+        Path target = getFile(data.uuid).toPath();
+        Path temp = target.resolveSibling(data.uuid + ".yml.tmp");
+
+        Files.write(temp, config.saveToString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private File getFile(UUID uuid) {
+        return new File(folder, uuid + ".yml");
+    }
+
+    public static PlayerManager.PlayerData read(UUID uuid, File file) {
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        PlayerManager.PlayerData data = new PlayerManager.PlayerData(uuid);
+
+        data.kills = config.getInt("kills", 0);
+        data.deaths = config.getInt("deaths", 0);
+        data.captures = config.getInt("captures", 0);
+        data.returns = config.getInt("returns", 0);
+        data.gamesPlayed = config.getInt("games-played", 0);
+        data.gamesWon = config.getInt("games-won", 0);
+        data.experience = config.getInt("experience", 0);
+        data.coins = config.getInt("coins", 0);
+
+        return data;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.storage;
+
+import com.arenawars.ctf.managers.PlayerManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Streams the legacy per-player YAML files into another {@link PlayerDataStore}.
+ * Files are visited one at a time through a directory stream and written in fixed-size
+ * batches, so memory use stays flat no matter how many players the folder holds.
+ */
+public class YamlStatsConverter {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final Logger logger;
+
+    public YamlStatsConverter(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Copies every {@code <uuid>.yml} profile that the store does not know yet.
+     *
+     * @return the number of converted profiles
+     */
+    public int convert(File playerDataFolder, PlayerDataStore store) throws IOException {
+        if (!playerDataFolder.isDirectory()) return 0;
+
+        int converted = 0;
+        List<PlayerManager.PlayerData> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(playerDataFolder.toPath(), "*.yml")) {
+            for (Path path : files) {
+                String fileName = path.getFileName().toString();
+                UUID uuid;
+
+                try {
+                    uuid = UUID.fromString(fileName.substring(0, fileName.length() - 4));
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Skipping " + fileName + ": not a player data file");
+                    continue;
+                }
+
+                if (store.contains(uuid)) continue;
+
+                batch.add(YamlPlayerDataStore.read(uuid, path.toFile()));
+                if (batch.size() == BATCH_SIZE) {
+                    store.saveAll(batch);
+                    converted += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+
+        store.saveAll(batch);
+        converted += batch.size();
+        return converted;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.title.Title;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A group of players (a game, a team) that is sent already rendered messages and titles.
+ *
+ * Nothing goes out immediately: messages are queued and sent when the {@link BroadcastQueue}
+ * flushes at the end of the tick, joined into one chat component per recipient. Only the
+ * last title of a tick is shown, since a newer title replaces the older one anyway. The
+ * recipients are a live view, so players who joined or left during the tick are accounted for.
+ * Main thread only.
+ */
+public class BatchedAudience implements Audience {
+
+    private final BroadcastQueue queue;
+    private final Collection<? extends Player> recipients;
+    private final List<Component> messages;
+    private Title title;
+    private boolean scheduled;
+
+    public BatchedAudience(BroadcastQueue queue, Collection<? extends Player> recipients) {
+        this.queue = queue;
+        this.recipients = recipients;
+        this.messages = new ArrayList<>(4);
+    }
+
+    @Override
+    public void sendMessage(Component message) {
+        messages.add(message);
+        schedule();
+    }
+
+    @Override
+    public void showTitle(Title title) {
+        if (title == null) return; // Titles are disabled
+
+        this.title = title;
+        schedule();
+    }
+
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            queue.schedule(this);
+        }
+    }
+
+    public boolean hasPending() {
+        return scheduled;
+    }
+
+    /**
+     * Sends everything queued since the last flush in one pass over the recipients.
+     */
+    public void flush() {
+        if (!scheduled) return;
+        scheduled = false;
+
+        Component chat = null;
+        if (messages.size() == 1) {
+            chat = messages.get(0);
+        } else if (!messages.isEmpty()) {
+            chat = Component.join(JoinConfiguration.newlines(), messages);
+        }
+        Title pendingTitle = title;
+        messages.clear();
+        title = null;
+
+        for (Player player : recipients) {
+            if (chat != null) {
+                player.sendMessage(chat);
+            }
+            if (pendingTitle != null) {
+                player.showTitle(pendingTitle);
+            }
+        }
+    }
+
+    /**
+     * Drops everything queued without sending it.
+     */
+    public void discard() {
+        messages.clear();
+        title = null;
+        scheduled = false;
+    }
+}
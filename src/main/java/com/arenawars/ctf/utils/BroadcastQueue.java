@@ -0,0 +1,54 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Flushes every {@link BatchedAudience} with pending output once, at the end of the server
+ * tick, so a burst of events in one tick (capture, score, win) goes out as a single send pass.
+ * Main thread only.
+ */
+public class BroadcastQueue implements Listener {
+
+    private final List<BatchedAudience> pending;
+
+    public BroadcastQueue() {
+        this.pending = new ArrayList<>();
+    }
+
+    public BatchedAudience createAudience(Collection<? extends Player> recipients) {
+        return new BatchedAudience(this, recipients);
+    }
+
+    // Called by the audience on its first output since the last flush
+    void schedule(BatchedAudience audience) {
+        pending.add(audience);
+    }
+
+    @EventHandler
+    public void onTickEnd(ServerTickEndEvent event) {
+        flushAll();
+    }
+
+    /**
+     * Sends everything pending right away, e.g. before the plugin disables and no tick end follows.
+     */
+    public void flushAll() {
+        // Audiences flushed here can't queue again until the next send, so a plain index loop is safe
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).flush();
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-pass lexer for legacy color codes.
+ *
+ * Understands {@code &} and {@code §} codes ({@code 0-9 a-f k-o r}), {@code &#RRGGBB} hex colors
+ * and the expanded {@code §x§R§R§G§G§B§B} form, and turns them straight into a component tree,
+ * a section-coded legacy string, or plain text. Short inputs, such as team names, level prefixes
+ * and scoreboard lines, are kept in a bounded cache; components and strings are immutable, so
+ * cached results are shared. Thread-safe.
+ */
+public final class LegacyColors {
+
+    private static final int MAX_CACHED_LENGTH = 128;
+    private static final int CACHE_LIMIT = 2048; // Per cache, cleared as a whole when exceeded
+
+    private static final TextColor[] COLORS = {
+        NamedTextColor.BLACK, NamedTextColor.DARK_BLUE, NamedTextColor.DARK_GREEN, NamedTextColor.DARK_AQUA,
+        NamedTextColor.DARK_RED, NamedTextColor.DARK_PURPLE, NamedTextColor.GOLD, NamedTextColor.GRAY,
+        NamedTextColor.DARK_GRAY, NamedTextColor.BLUE, NamedTextColor.GREEN, NamedTextColor.AQUA,
+        NamedTextColor.RED, NamedTextColor.LIGHT_PURPLE, NamedTextColor.YELLOW, NamedTextColor.WHITE
+    };
+
+    private static final Map<String, Component> components = new ConcurrentHashMap<>();
+    private static final Map<String, String> legacyStrings = new ConcurrentHashMap<>();
+
+    private LegacyColors() {
+    }
+
+    public static Component toComponent(String text) {
+        if (text == null || text.isEmpty()) return Component.empty();
+        if (!hasCodePrefix(text)) return Component.text(text);
+        if (text.length() > MAX_CACHED_LENGTH) return lexComponent(text);
+
+        Component cached = components.get(text);
+        if (cached == null) {
+            cached = lexComponent(text);
+            cache(components, text, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Translates color codes to their section form, as {@code ChatColor.translateAlternateColorCodes}
+     * does, and expands {@code &#RRGGBB} to {@code §x§R§R§G§G§B§B}.
+     */
+    public static String toLegacy(String text) {
+        if (text == null || text.isEmpty()) return "";
+        if (!hasCodePrefix(text)) return text;
+        if (text.length() > MAX_CACHED_LENGTH) return lexLegacy(text);
+
+        String cached = legacyStrings.get(text);
+        if (cached == null) {
+            cached = lexLegacy(text);
+            cache(legacyStrings, text, cached);
+        }
+        return cached;
+    }
+
+    public static String strip(String text) {
+        if (text == null || text.isEmpty()) return "";
+        if (!hasCodePrefix(text)) return text;
+
+        StringBuilder builder = null;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int skip = codeLength(text, i);
+            if (skip > 0) {
+                if (builder == null) {
+                    builder = new StringBuilder(length).append(text, 0, i);
+                }
+                i += skip;
+                continue;
+            }
+            if (builder != null) {
+                builder.append(text.charAt(i));
+            }
+            i++;
+        }
+        return builder != null ? builder.toString() : text;
+    }
+
+    private static Component lexComponent(String text) {
+        List<Component> parts = new ArrayList<>();
+        StringBuilder run = new StringBuilder(text.length());
+        Set<TextDecoration> decorations = EnumSet.noneOf(TextDecoration.class);
+        TextColor color = null;
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!isCodePrefix(c) || i + 1 == length) {
+                run.append(c);
+                i++;
+                continue;
+            }
+
+            char code = Character.toLowerCase(text.charAt(i + 1));
+            int rgb;
+            if (code == '#' && (rgb = parseHex(text, i + 2)) >= 0) {
+                flush(parts, run, color, decorations);
+                color = TextColor.color(rgb);
+                decorations.clear();
+                i += 8;
+            } else if (code == 'x' && (rgb = parseExpandedHex(text, i + 2)) >= 0) {
+                flush(parts, run, color, decorations);
+                color = TextColor.color(rgb);
+                decorations.clear();
+                i += 14;
+            } else if (isColor(code)) {
+                // A color resets the formatting, like in vanilla
+                flush(parts, run, color, decorations);
+                color = COLORS[Character.digit(code, 16)];
+                decorations.clear();
+                i += 2;
+            } else if (code == 'r') {
+                flush(parts, run, color, decorations);
+                color = null;
+                decorations.clear();
+                i += 2;
+            } else if (code >= 'k' && code <= 'o') {
+                flush(parts, run, color, decorations);
+                decorations.add(decoration(code));
+                i += 2;
+            } else {
+                run.append(c);
+                i++;
+            }
+        }
+        flush(parts, run, color, decorations);
+
+        if (parts.isEmpty()) return Component.empty();
+        if (parts.size() == 1) return parts.get(0);
+
+        TextComponent.Builder root = Component.text();
+        for (Component part : parts) {
+            root.append(part);
+        }
+        return root.build();
+    }
+
+    private static void flush(List<Component> parts, StringBuilder run, TextColor color, Set<TextDecoration> decorations) {
+        if (run.length() == 0) return;
+
+        // The style copies the decorations, so the set can be reused
+        parts.add(Component.text(run.toString(), color, decorations));
+        run.setLength(0);
+    }
+
+    private static String lexLegacy(String text) {
+        StringBuilder builder = new StringBuilder(text.length() + 16);
+
+        // Plain text between codes is copied in one append
+        int length = text.length();
+        int runStart = 0;
+        int i = 0;
+        while (i < length - 1) {
+            if (!isCodePrefix(text.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            char code = Character.toLowerCase(text.charAt(i + 1));
+            if (code == '#' && parseHex(text, i + 2) >= 0) {
+                builder.append(text, runStart, i).append("§x");
+                for (int digit = i + 2; digit < i + 8; digit++) {
+                    builder.append('§').append(Character.toLowerCase(text.charAt(digit)));
+                }
+                i += 8;
+                runStart = i;
+            } else if (isColor(code) || (code >= 'k' && code <= 'o') || code == 'r' || code == 'x') {
+                builder.append(text, runStart, i).append('§').append(code);
+                i += 2;
+                runStart = i;
+            } else {
+                i++;
+            }
+        }
+        return builder.append(text, runStart, length).toString();
+    }
+
+    // Length of the color code starting at index, or 0 if there is none
+    private static int codeLength(String text, int index) {
+        if (!isCodePrefix(text.charAt(index)) || index + 1 == text.length()) return 0;
+
+        char code = Character.toLowerCase(text.charAt(index + 1));
+        if (code == '#') return parseHex(text, index + 2) >= 0 ? 8 : 0;
+        if (code == 'x') return parseExpandedHex(text, index + 2) >= 0 ? 14 : 0;
+        if (isColor(code) || (code >= 'k' && code <= 'o') || code == 'r') return 2;
+        return 0;
+    }
+
+    // Six hex digits, RRGGBB
+    private static int parseHex(String text, int start) {
+        if (start + 6 > text.length()) return -1;
+
+        int rgb = 0;
+        for (int i = start; i < start + 6; i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0) return -1;
+            rgb = (rgb << 4) | digit;
+        }
+        return rgb;
+    }
+
+    // Six prefixed hex digits, §R§R§G§G§B§B
+    private static int parseExpandedHex(String text, int start) {
+        if (start + 12 > text.length()) return -1;
+
+        int rgb = 0;
+        for (int i = start; i < start + 12; i += 2) {
+            int digit = Character.digit(text.charAt(i + 1), 16);
+            if (!isCodePrefix(text.charAt(i)) || digit < 0) return -1;
+            rgb = (rgb << 4) | digit;
+        }
+        return rgb;
+    }
+
+    private static boolean hasCodePrefix(String text) {
+        return text.indexOf('&') >= 0 || text.indexOf('§') >= 0;
+    }
+
+    private static boolean isCodePrefix(char c) {
+        return c == '&' || c == '§';
+    }
+
+    private static boolean isColor(char code) {
+        return (code >= '0' && code <= '9') || (code >= 'a' && code <= 'f');
+    }
+
+    private static TextDecoration decoration(char code) {
+        switch (code) {
+            case 'k':
+                return TextDecoration.OBFUSCATED;
+            case 'l':
+                return TextDecoration.BOLD;
+            case 'm':
+                return TextDecoration.STRIKETHROUGH;
+            case 'n':
+                return TextDecoration.UNDERLINED;
+            default:
+                return TextDecoration.ITALIC;
+        }
+    }
+
+    private static <V> void cache(Map<String, V> cache, String key, V value) {
+        if (cache.size() >= CACHE_LIMIT) {
+            // Inputs that keep repeating come back quickly, one-off strings are dropped
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+}
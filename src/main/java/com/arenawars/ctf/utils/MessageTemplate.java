@@ -0,0 +1,134 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message from messages.yml split once into literal text and {@code {placeholder}} slots.
+ * Formatting walks the slots and appends the matching argument, so it never searches the
+ * text or builds intermediate strings. Immutable.
+ */
+public final class MessageTemplate {
+
+    private final String raw;
+    private final String[] literals; // One more than keys: text before, between and after the slots
+    private final String[] keys;
+    private final int literalLength;
+
+    private MessageTemplate(String raw, String[] literals, String[] keys) {
+        this.raw = raw;
+        this.literals = literals;
+        this.keys = keys;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String raw) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int start = 0;
+
+        while (true) {
+            int open = raw.indexOf('{', start);
+            int close = open < 0 ? -1 : raw.indexOf('}', open + 1);
+            if (close < 0) break;
+
+            String key = raw.substring(open + 1, close);
+            if (key.isEmpty() || key.indexOf('{') >= 0) {
+                // Not a placeholder, keep the brace as text
+                literals.add(raw.substring(start, open + 1));
+                keys.add(null);
+                start = open + 1;
+                continue;
+            }
+
+            literals.add(raw.substring(start, open));
+            keys.add(key);
+            start = close + 1;
+        }
+        literals.add(raw.substring(start));
+
+        return compact(raw, literals, keys);
+    }
+
+    // Merges the literal runs split at braces that turned out not to be placeholders
+    private static MessageTemplate compact(String raw, List<String> literals, List<String> keys) {
+        List<String> mergedLiterals = new ArrayList<>();
+        List<String> mergedKeys = new ArrayList<>();
+        StringBuilder pending = new StringBuilder(literals.get(0));
+
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i) == null) {
+                pending.append(literals.get(i + 1));
+                continue;
+            }
+            mergedLiterals.add(pending.toString());
+            mergedKeys.add(keys.get(i));
+            pending.setLength(0);
+            pending.append(literals.get(i + 1));
+        }
+        mergedLiterals.add(pending.toString());
+
+        return new MessageTemplate(raw, mergedLiterals.toArray(new String[0]), mergedKeys.toArray(new String[0]));
+    }
+
+    public String getRaw() {
+        return raw;
+    }
+
+    public boolean hasPlaceholders() {
+        return keys.length > 0;
+    }
+
+    /**
+     * Fills the slots from alternating key/value arguments, e.g. {@code format("arena", name)}.
+     * Placeholders without a value are left as they are.
+     */
+    public String format(String... keyValuePairs) {
+        if (keys.length == 0) return raw;
+
+        StringBuilder builder = new StringBuilder(literalLength + keys.length * 16);
+        for (int slot = 0; slot < keys.length; slot++) {
+            builder.append(literals[slot]);
+
+            String value = null;
+            for (int i = 0; i + 1 < keyValuePairs.length; i += 2) {
+                if (keys[slot].equals(keyValuePairs[i])) {
+                    value = keyValuePairs[i + 1];
+                    break;
+                }
+            }
+            appendValue(builder, slot, value);
+        }
+        return builder.append(literals[keys.length]).toString();
+    }
+
+    public String format(Map<String, String> placeholders) {
+        if (keys.length == 0) return raw;
+
+        StringBuilder builder = new StringBuilder(literalLength + keys.length * 16);
+        for (int slot = 0; slot < keys.length; slot++) {
+            builder.append(literals[slot]);
+            appendValue(builder, slot, placeholders.get(keys[slot]));
+        }
+        return builder.append(literals[keys.length]).toString();
+    }
+
+    private void appendValue(StringBuilder builder, int slot, String value) {
+        if (value != null) {
+            builder.append(value);
+        } else {
+            builder.append('{').append(keys[slot]).append('}');
+        }
+    }
+}
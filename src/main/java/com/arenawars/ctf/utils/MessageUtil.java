@@ -10,6 +10,7 @@ import com.arenawars.ctf.managers.ColorManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
 import org.bukkit.Sound;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
 import java.time.Duration;
@@ -18,36 +19,78 @@ import java.util.Map;
 
 public class MessageUtil {
     
+    private static final Title.Times TITLE_TIMES = Title.Times.times(
+        Duration.ofMillis(500),
+        Duration.ofSeconds(3),
+        Duration.ofMillis(500)
+    );
+    
     private final ArenaWarsCTF plugin;
     private final ColorManager colorManager;
+    private volatile CompiledMessages messages;
     
     public MessageUtil(ArenaWarsCTF plugin) {
         this.plugin = plugin;
         this.colorManager = new ColorManager();
+        reloadMessages();
+    }
+    
+    /**
+     * Compiles messages.yml into templates; call again after the messages file was reloaded.
+     */
+    public void reloadMessages() {
+        this.messages = compile(plugin.getConfigManager().getMessages(), colorManager);
+    }
+    
+    static CompiledMessages compile(FileConfiguration config, ColorManager colorManager) {
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        
+        for (String path : config.getKeys(true)) {
+            if (config.isString(path)) {
+                templates.put(path, MessageTemplate.compile(config.getString(path)));
+            }
+        }
+        
+        String prefix = templates.containsKey("prefix") ? templates.get("prefix").getRaw() : "Message not found: prefix";
+        Map<String, Component> prefixed = new HashMap<>();
+        for (Map.Entry<String, MessageTemplate> entry : templates.entrySet()) {
+            if (!entry.getValue().hasPlaceholders()) {
+                prefixed.put(entry.getKey(), colorManager.colorizeForChat(prefix + entry.getValue().getRaw()));
+            }
+        }
+        
+        return new CompiledMessages(colorManager, templates, prefixed, prefix);
     }
     
     public ColorManager getColorManager() {
         return colorManager;
     }
     
+    public MessageTemplate getTemplate(String path) {
+        return messages.template(path);
+    }
+    
     public String getMessage(String path) {
-        return plugin.getConfigManager().getMessages().getString(path, "Message not found: " + path);
+        return getTemplate(path).getRaw();
     }
     
     public String getMessage(String path, Map<String, String> placeholders) {
-        String message = getMessage(path);
-        
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            message = message.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
-        
-        return message;
+        return getTemplate(path).format(placeholders);
+    }
+    
+    public String getMessage(String path, String... keyValuePairs) {
+        return getTemplate(path).format(keyValuePairs);
+    }
+    
+    /**
+     * Renders a prefixed chat message. Messages without placeholders come from the cache.
+     */
+    public Component render(String path, String... keyValuePairs) {
+        return messages.render(path, keyValuePairs);
     }
     
     public void sendMessage(Player player, String path) {
-        String message = getPrefix() + getMessage(path);
-        Component component = colorManager.colorizeForChat(message);
-        player.sendMessage(component);
+        player.sendMessage(render(path));
     }
     
     public void sendMessage(Player player, String path, Map<String, String> placeholders) {
@@ -56,15 +99,19 @@ public class MessageUtil {
         player.sendMessage(component);
     }
     
+    /**
+     * Sends a message with alternating placeholder keys and values, e.g.
+     * {@code sendMessage(player, "game.left-queue", "arena", name)}.
+     */
+    public void sendMessage(Player player, String path, String... keyValuePairs) {
+        player.sendMessage(render(path, keyValuePairs));
+    }
+    
     public void sendRawMessage(Player player, String message) {
         Component component = colorManager.colorizeForChat(message);
         player.sendMessage(component);
     }
     
-    public void sendTitle(Player player, String titlePath, String subtitlePath) {
-        sendTitle(player, titlePath, subtitlePath, new HashMap<>());
-    }
-    
     public void sendTitle(Player player, String titlePath, String subtitlePath, Map<String, String> placeholders) {
         if (!plugin.getConfigManager().areTitlesEnabled()) return;
         
@@ -74,37 +121,45 @@ public class MessageUtil {
         Component title = colorManager.colorizeForTitle(titleText);
         Component subtitle = colorManager.colorizeForTitle(subtitleText);
         
-        Title titleObj = Title.title(
-            title,
-            subtitle,
-            Title.Times.times(
-                Duration.ofMillis(500),
-                Duration.ofSeconds(3),
-                Duration.ofMillis(500)
-            )
-        );
-        
-        player.showTitle(titleObj);
+        player.showTitle(Title.title(title, subtitle, TITLE_TIMES));
     }
     
-    // Overloaded method for direct title sending (used by XPManager)
-    public void sendTitle(Player player, String title, String subtitle) {
-        if (!plugin.getConfigManager().areTitlesEnabled()) return;
-        
-        Component titleComponent = colorManager.colorizeForTitle(title);
-        Component subtitleComponent = colorManager.colorizeForTitle(subtitle);
-        
-        Title titleObj = Title.title(
-            titleComponent,
-            subtitleComponent,
-            Title.Times.times(
-                Duration.ofMillis(500),
-                Duration.ofSeconds(3),
-                Duration.ofMillis(500)
-            )
-        );
+    /**
+     * Shows the messages at {@code titlePath} and {@code subtitlePath} as a title.
+     */
+    public void sendTitle(Player player, String titlePath, String subtitlePath) {
+        Title rendered = renderTitle(titlePath, subtitlePath);
+        if (rendered != null) {
+            player.showTitle(rendered);
+        }
+    }
+    
+    /**
+     * Renders the title of {@link #sendTitle(Player, String, String)} once so it can be shown to
+     * many players; null when titles are disabled.
+     */
+    public Title renderTitle(String titlePath, String subtitlePath) {
+        return renderRawTitle(getMessage(titlePath), getMessage(subtitlePath));
+    }
+    
+    /**
+     * Shows literal title and subtitle text with color codes.
+     */
+    public void sendRawTitle(Player player, String title, String subtitle) {
+        Title rendered = renderRawTitle(title, subtitle);
+        if (rendered != null) {
+            player.showTitle(rendered);
+        }
+    }
+    
+    /**
+     * Renders literal title text once so it can be shown to many players; null when titles
+     * are disabled.
+     */
+    public Title renderRawTitle(String title, String subtitle) {
+        if (!plugin.getConfigManager().areTitlesEnabled()) return null;
         
-        player.showTitle(titleObj);
+        return Title.title(colorManager.colorizeForTitle(title), colorManager.colorizeForTitle(subtitle), TITLE_TIMES);
     }
     
     public void sendActionBar(Player player, String message) {
@@ -119,9 +174,7 @@ public class MessageUtil {
     }
     
     public void broadcast(String path) {
-        String message = getPrefix() + getMessage(path);
-        Component component = colorManager.colorizeForChat(message);
-        plugin.getServer().broadcast(component);
+        plugin.getServer().broadcast(render(path));
     }
     
     public void broadcast(String path, Map<String, String> placeholders) {
@@ -131,8 +184,7 @@ public class MessageUtil {
     }
     
     public void broadcastToArena(String arenaName, String path) {
-        String message = getPrefix() + getMessage(path);
-        Component component = colorManager.colorizeForChat(message);
+        Component component = render(path);
         
         // Send to all players in arena
         for (Player player : plugin.getPlayerManager().getPlayersInArena(arenaName)) {
@@ -143,7 +195,7 @@ public class MessageUtil {
     }
     
     public String getPrefix() {
-        return getMessage("prefix");
+        return messages.prefix;
     }
     
     public Component colorize(String text) {
@@ -188,4 +240,33 @@ public class MessageUtil {
     public Component formatMessage(String message, Object... placeholders) {
         return colorManager.formatMessage(message, placeholders);
     }
+    
+    // One immutable snapshot per load, swapped as a whole on reload
+    static final class CompiledMessages {
+        private final ColorManager colorManager;
+        private final Map<String, MessageTemplate> templates;
+        private final Map<String, Component> prefixed; // Placeholder-free messages, ready to send
+        private final String prefix;
+        
+        private CompiledMessages(ColorManager colorManager, Map<String, MessageTemplate> templates,
+                                 Map<String, Component> prefixed, String prefix) {
+            this.colorManager = colorManager;
+            this.templates = templates;
+            this.prefixed = prefixed;
+            this.prefix = prefix;
+        }
+        
+        MessageTemplate template(String path) {
+            MessageTemplate template = templates.get(path);
+            return template != null ? template : MessageTemplate.compile("Message not found: " + path);
+        }
+        
+        // Messages without placeholders come from the cache
+        Component render(String path, String... keyValuePairs) {
+            Component cached = prefixed.get(path);
+            if (cached != null) return cached;
+            
+            return colorManager.colorizeForChat(prefix + template(path).format(keyValuePairs));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import com.arenawars.ctf.managers.ColorManager;
+import net.kyori.adventure.text.Component;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sidebar that only sends the lines that changed since the last update.
+ *
+ * Every line is a fixed, invisible score entry with its own team; the visible text is the
+ * team prefix. Changing a line therefore costs a single team update packet, and scores are
+ * only touched when the number of lines changes, so nothing flickers.
+ */
+public class Sidebar {
+
+    public static final int MAX_LINES = 15;
+
+    private static final String[] ENTRIES = new String[MAX_LINES];
+
+    static {
+        String codes = "0123456789abcdef";
+        for (int i = 0; i < MAX_LINES; i++) {
+            ENTRIES[i] = "§" + codes.charAt(i) + "§r";
+        }
+    }
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+    private final ColorManager colorManager;
+    private final Team[] teams;
+    private final String[] rendered;
+    private String title;
+    private int lineCount;
+
+    public Sidebar(Scoreboard scoreboard, String name, String title, ColorManager colorManager) {
+        this.scoreboard = scoreboard;
+        this.colorManager = colorManager;
+        this.teams = new Team[MAX_LINES];
+        this.rendered = new String[MAX_LINES];
+        this.title = title;
+        this.objective = scoreboard.registerNewObjective(name, "dummy", colorManager.colorize(title));
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+    }
+
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+
+    public void setTitle(String title) {
+        if (title.equals(this.title)) return;
+
+        this.title = title;
+        objective.displayName(colorManager.colorize(title));
+    }
+
+    /**
+     * Shows the given lines (with &amp; color codes) top to bottom; lines past {@link #MAX_LINES} are dropped.
+     */
+    public void update(List<String> lines) {
+        update(lines, Collections.emptyMap());
+    }
+
+    /**
+     * Same as {@link #update(List)}, taking already colorized components from {@code prerendered}
+     * so lines shared by many sidebars are only colorized once.
+     */
+    public void update(List<String> lines, Map<String, Component> prerendered) {
+        int count = Math.min(lines.size(), MAX_LINES);
+
+        for (int i = 0; i < count; i++) {
+            String line = lines.get(i);
+            if (line.equals(rendered[i])) continue;
+
+            Component text = prerendered.get(line);
+            getTeam(i).prefix(text != null ? text : colorManager.colorize(line));
+            rendered[i] = line;
+
+            if (i >= lineCount) {
+                objective.getScore(ENTRIES[i]).setScore(MAX_LINES - i);
+            }
+        }
+
+        for (int i = count; i < lineCount; i++) {
+            scoreboard.resetScores(ENTRIES[i]);
+            rendered[i] = null;
+        }
+
+        lineCount = count;
+    }
+
+    private Team getTeam(int line) {
+        Team team = teams[line];
+        if (team == null) {
+            team = scoreboard.registerNewTeam("sidebar_" + line);
+            team.addEntry(ENTRIES[line]);
+            teams[line] = team;
+        }
+        return team;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking teleports for match start, joins and respawns.
+ *
+ * A request starts loading its target chunk right away (Paper's {@code getChunkAtAsync}) and
+ * waits in a FIFO queue. Every tick up to {@link #TELEPORTS_PER_TICK} requests whose chunk is
+ * ready are handed to {@code teleportAsync}, so a full arena starting at once is spread over a
+ * few ticks instead of stalling one. A newer request for the same player replaces the older one.
+ *
+ * The returned future completes on the main thread with whether the player arrived; follow-up
+ * steps (kit, spawn protection) belong in its callback. A request that is replaced or dropped
+ * with {@link #cancel(Player)} has its future cancelled instead, so {@code thenAccept} callbacks
+ * don't run at all and never mistake it for a refused teleport. Main thread only.
+ */
+public class TeleportPipeline {
+
+    private static final int TELEPORTS_PER_TICK = 4;
+
+    private final ArrayDeque<Request> queue;
+    private final Map<UUID, Request> pending; // Latest request per player
+
+    public TeleportPipeline(Plugin plugin) {
+        this.queue = new ArrayDeque<>();
+        this.pending = new HashMap<>();
+
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    public CompletableFuture<Boolean> teleport(Player player, Location target) {
+        Request request = new Request(player, target);
+
+        Request replaced = pending.put(player.getUniqueId(), request);
+        if (replaced != null) {
+            replaced.cancel();
+        }
+
+        if (target == null || target.getWorld() == null) {
+            pending.remove(player.getUniqueId(), request);
+            request.result.complete(false);
+            return request.result;
+        }
+
+        request.chunk = target.getWorld().getChunkAtAsync(target);
+        queue.add(request);
+        return request.result;
+    }
+
+    /**
+     * Drops the player's queued teleport, e.g. when they leave the game.
+     */
+    public void cancel(Player player) {
+        Request request = pending.remove(player.getUniqueId());
+        if (request != null) {
+            request.cancel();
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void tick() {
+        int budget = TELEPORTS_PER_TICK;
+
+        while (budget > 0 && !queue.isEmpty()) {
+            Request request = queue.peek();
+            if (request.result.isDone()) {
+                // Cancelled while waiting
+                queue.poll();
+                continue;
+            }
+
+            // Keep the order; a cold chunk holds back the ones behind it for a few ticks at most
+            if (!request.chunk.isDone()) break;
+
+            queue.poll();
+            if (!request.player.isOnline()) {
+                finish(request, false);
+                continue;
+            }
+
+            budget--;
+            request.player.teleportAsync(request.target).whenComplete((arrived, error) ->
+                finish(request, error == null && Boolean.TRUE.equals(arrived)));
+        }
+    }
+
+    private void finish(Request request, boolean arrived) {
+        pending.remove(request.player.getUniqueId(), request);
+        request.result.complete(arrived);
+    }
+
+    private static final class Request {
+        private final Player player;
+        private final Location target;
+        private final CompletableFuture<Boolean> result;
+        private CompletableFuture<Chunk> chunk;
+
+        private Request(Player player, Location target) {
+            this.player = player;
+            this.target = target;
+            this.result = new CompletableFuture<>();
+        }
+
+        private void cancel() {
+            result.cancel(false);
+        }
+    }
+}
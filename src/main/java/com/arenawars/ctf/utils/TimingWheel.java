@@ -0,0 +1,245 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel driven by a single server tick task.
+ *
+ * Four wheels of 64 slots cover 1, 64, 4096 and 262144 ticks per slot. A timer is placed in
+ * the coarsest wheel that fits its remaining delay and moves down a wheel each time the finer
+ * wheel wraps, so scheduling, cancelling and firing are all O(1) no matter how many timers exist.
+ *
+ * Every timer belongs to an owner (usually a game); {@link #cancelAll(Object)} releases
+ * everything an owner registered. Main thread only.
+ */
+public class TimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int WHEELS = 4;
+
+    private final Logger logger;
+    private final Handle[][] slots;
+    private final Map<Object, Set<Handle>> owned;
+    private long now;
+
+    public TimingWheel(Logger logger) {
+        this.logger = logger;
+        this.slots = new Handle[WHEELS][WHEEL_SIZE];
+        this.owned = new HashMap<>();
+    }
+
+    /**
+     * Runs {@code task} once after {@code delayTicks} (at least one tick).
+     */
+    public Handle schedule(Object owner, long delayTicks, Runnable task) {
+        return scheduleRepeating(owner, delayTicks, 0, task);
+    }
+
+    /**
+     * Runs {@code task} after {@code delayTicks} and then every {@code periodTicks} until cancelled.
+     */
+    public Handle scheduleRepeating(Object owner, long delayTicks, long periodTicks, Runnable task) {
+        Handle handle = new Handle(this, owner, task, periodTicks);
+        handle.deadline = now + Math.max(1, delayTicks);
+
+        owned.computeIfAbsent(owner, key -> new LinkedHashSet<>()).add(handle);
+        insert(handle);
+        return handle;
+    }
+
+    /**
+     * Cancels every timer registered by {@code owner}.
+     */
+    public void cancelAll(Object owner) {
+        Set<Handle> handles = owned.remove(owner);
+        if (handles == null) return;
+
+        for (Handle handle : handles) {
+            handle.cancelled = true;
+            unlink(handle);
+        }
+    }
+
+    public int getPendingCount(Object owner) {
+        Set<Handle> handles = owned.get(owner);
+        return handles == null ? 0 : handles.size();
+    }
+
+    public long getCurrentTick() {
+        return now;
+    }
+
+    /**
+     * Advances the wheel by one tick and fires whatever is due.
+     */
+    public void tick() {
+        now++;
+
+        // Pull timers down from the coarser wheels each time a finer one wraps around
+        for (int wheel = 1; wheel < WHEELS; wheel++) {
+            if ((now & ((1L << (WHEEL_BITS * wheel)) - 1)) != 0) break;
+            cascade(wheel, (int) ((now >>> (WHEEL_BITS * wheel)) & WHEEL_MASK));
+        }
+
+        int index = (int) (now & WHEEL_MASK);
+        Handle due = slots[0][index];
+        slots[0][index] = null;
+
+        // Detach the whole slot first, tasks may cancel timers that are still further down the list
+        for (Handle handle = due; handle != null; handle = handle.next) {
+            handle.wheel = -1;
+        }
+
+        Handle handle = due;
+        while (handle != null) {
+            Handle next = handle.next;
+            handle.prev = null;
+            handle.next = null;
+
+            if (!handle.cancelled) {
+                if (handle.deadline > now) {
+                    insert(handle); // Parked far ahead, not due yet
+                } else {
+                    fire(handle);
+                }
+            }
+            handle = next;
+        }
+    }
+
+    private void fire(Handle handle) {
+        try {
+            handle.task.run();
+        } catch (Throwable t) {
+            logger.log(Level.SEVERE, "Timer task failed", t);
+        }
+
+        if (handle.cancelled) return;
+
+        if (handle.period > 0) {
+            handle.deadline = now + handle.period;
+            insert(handle);
+        } else {
+            handle.cancelled = true;
+            release(handle);
+        }
+    }
+
+    private void cascade(int wheel, int index) {
+        Handle handle = slots[wheel][index];
+        slots[wheel][index] = null;
+
+        while (handle != null) {
+            Handle next = handle.next;
+            handle.prev = null;
+            handle.next = null;
+            handle.wheel = -1;
+            insert(handle);
+            handle = next;
+        }
+    }
+
+    private void insert(Handle handle) {
+        long delay = Math.max(1, handle.deadline - now);
+        int wheel = 0;
+        while (wheel < WHEELS - 1 && delay >= 1L << (WHEEL_BITS * (wheel + 1))) {
+            wheel++;
+        }
+
+        // Timers beyond the last wheel are parked at its furthest slot and re-inserted from there
+        long target = Math.min(handle.deadline, now + (1L << (WHEEL_BITS * WHEELS)) - 1);
+        int index = (int) ((target >>> (WHEEL_BITS * wheel)) & WHEEL_MASK);
+
+        Handle head = slots[wheel][index];
+        handle.next = head;
+        if (head != null) {
+            head.prev = handle;
+        }
+        slots[wheel][index] = handle;
+        handle.wheel = wheel;
+        handle.index = index;
+    }
+
+    private void unlink(Handle handle) {
+        if (handle.wheel < 0) return;
+
+        if (handle.prev != null) {
+            handle.prev.next = handle.next;
+        } else {
+            slots[handle.wheel][handle.index] = handle.next;
+        }
+        if (handle.next != null) {
+            handle.next.prev = handle.prev;
+        }
+
+        handle.prev = null;
+        handle.next = null;
+        handle.wheel = -1;
+    }
+
+    private void release(Handle handle) {
+        Set<Handle> handles = owned.get(handle.owner);
+        if (handles != null) {
+            handles.remove(handle);
+            if (handles.isEmpty()) {
+                owned.remove(handle.owner);
+            }
+        }
+    }
+
+    /**
+     * A scheduled timer. Cancelling is O(1) and safe to call more than once.
+     */
+    public static final class Handle {
+        private final TimingWheel timingWheel;
+        private final Object owner;
+        private final Runnable task;
+        private final long period;
+        private long deadline;
+        private boolean cancelled;
+
+        // Position in the wheel, -1 while not linked
+        private Handle prev;
+        private Handle next;
+        private int wheel = -1;
+        private int index;
+
+        private Handle(TimingWheel timingWheel, Object owner, Runnable task, long period) {
+            this.timingWheel = timingWheel;
+            this.owner = owner;
+            this.task = task;
+            this.period = period;
+        }
+
+        public void cancel() {
+            if (cancelled) return;
+
+            cancelled = true;
+            timingWheel.unlink(this);
+            timingWheel.release(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Ticks left until the next run, 0 once cancelled.
+         */
+        public long getRemainingTicks() {
+            return cancelled ? 0 : Math.max(0, deadline - timingWheel.now);
+        }
+    }
+}
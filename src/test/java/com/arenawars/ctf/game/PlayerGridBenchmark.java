@@ -0,0 +1,141 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.game;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Who is near X" on a 128x128 arena with 16, 32 and 64 players: the grid's radius, box and
+ * count queries against the distance loop over every player they replace, plus the cost of a
+ * move. Players and the world come from MockBukkit, so hashing and equality are the server's. Run with {@code mvn -Pbench test -Dbench=PlayerGridBenchmark}; the gc profiler the
+ * bench profile enables shows the queries allocate nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerGridBenchmark {
+
+    private static final int ARENA_SIZE = 128;
+    private static final int QUERY_POINTS = 1024;
+    private static final double RADIUS = 8.0;
+
+    @Param({"16", "32", "64"})
+    public int players;
+
+    private PlayerGrid grid;
+    private Player[] members;
+    private Team[] teams;
+    private Location[] positions;
+    private Location[] queries;
+    private Location[] queryCorners;
+    private Location[] moves;
+    private Player[] out;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        World world = server.addSimpleWorld("bench");
+        Random random = new Random(42L);
+
+        grid = new PlayerGrid();
+        members = new Player[players];
+        teams = new Team[players];
+        positions = new Location[players];
+        for (int i = 0; i < players; i++) {
+            members[i] = server.addPlayer();
+            teams[i] = i % 2 == 0 ? Team.RED : Team.BLUE;
+            positions[i] = randomLocation(world, random);
+            grid.update(members[i], teams[i], positions[i]);
+        }
+
+        queries = new Location[QUERY_POINTS];
+        queryCorners = new Location[QUERY_POINTS];
+        moves = new Location[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            queries[i] = randomLocation(world, random);
+            queryCorners[i] = queries[i].clone().add(RADIUS * 2, 4, RADIUS * 2);
+            moves[i] = randomLocation(world, random);
+        }
+
+        out = new Player[players];
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (QUERY_POINTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public int radiusLinearScan() {
+        Location center = queries[nextIndex()];
+        double radiusSquared = RADIUS * RADIUS;
+        int found = 0;
+
+        // What callers did before the grid: a distance check against every player
+        for (int i = 0; i < members.length; i++) {
+            if (teams[i] == Team.RED && positions[i].distanceSquared(center) <= radiusSquared) {
+                out[found++] = members[i];
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int radiusGrid() {
+        return grid.queryRadius(queries[nextIndex()], RADIUS, Team.RED, out);
+    }
+
+    @Benchmark
+    public int boxGrid() {
+        int index = nextIndex();
+        return grid.queryBox(queries[index], queryCorners[index], null, out);
+    }
+
+    @Benchmark
+    public int countGrid() {
+        return grid.countWithin(queries[nextIndex()], RADIUS, Team.BLUE);
+    }
+
+    @Benchmark
+    public int move() {
+        int index = nextIndex();
+        int player = index % members.length;
+        grid.update(members[player], teams[player], moves[index]);
+        return grid.size();
+    }
+
+    private static Location randomLocation(World world, Random random) {
+        return new Location(world, random.nextDouble() * ARENA_SIZE, 64 + random.nextInt(8), random.nextDouble() * ARENA_SIZE);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.managers;
+
+import com.arenawars.ctf.game.Team;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Equip cost on respawn: the old per-spawn loadout (fresh item stacks, a dyed helmet meta copy)
+ * against applying a prebuilt kit. Both give the default loadout. The inventory is MockBukkit's,
+ * so the numbers compare the two ways of equipping rather than predict server timings.
+ * Run with {@code mvn -Pbench test -Dbench=KitEquipBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KitEquipBenchmark {
+
+    private static final Team TEAM = Team.RED;
+
+    private Player player;
+    private KitManager.Kit kit;
+
+    @Setup
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        player = server.addPlayer();
+
+        // Same items as KitManager's default kit
+        ItemStack[] storage = new ItemStack[36];
+        storage[0] = new ItemStack(Material.IRON_SWORD);
+        storage[1] = new ItemStack(Material.BOW);
+        storage[2] = new ItemStack(Material.ARROW, 32);
+        storage[3] = new ItemStack(Material.COOKED_BEEF, 16);
+
+        ItemStack helmet = new ItemStack(Material.LEATHER_HELMET);
+        ItemMeta meta = helmet.getItemMeta();
+        ((LeatherArmorMeta) meta).setColor(TEAM.getArmorColor());
+        helmet.setItemMeta(meta);
+        ItemStack[] armor = {
+            new ItemStack(Material.IRON_BOOTS), new ItemStack(Material.IRON_LEGGINGS),
+            new ItemStack(Material.IRON_CHESTPLATE), helmet
+        };
+
+        kit = new KitManager.Kit(storage, armor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public Player perSpawnLoadout() {
+        PlayerInventory inventory = player.getInventory();
+        inventory.clear();
+
+        // The givePlayerEquipment that CTFGame and RespawnManager each had before kits
+        inventory.addItem(new ItemStack(Material.IRON_SWORD));
+        inventory.addItem(new ItemStack(Material.BOW));
+        inventory.addItem(new ItemStack(Material.ARROW, 32));
+
+        inventory.setHelmet(new ItemStack(Material.LEATHER_HELMET));
+        inventory.setChestplate(new ItemStack(Material.IRON_CHESTPLATE));
+        inventory.setLeggings(new ItemStack(Material.IRON_LEGGINGS));
+        inventory.setBoots(new ItemStack(Material.IRON_BOOTS));
+
+        ItemStack helmet = inventory.getHelmet();
+        if (helmet != null && helmet.getItemMeta() instanceof LeatherArmorMeta) {
+            LeatherArmorMeta meta = (LeatherArmorMeta) helmet.getItemMeta();
+            meta.setColor(TEAM.getArmorColor());
+            helmet.setItemMeta(meta);
+        }
+
+        inventory.addItem(new ItemStack(Material.COOKED_BEEF, 16));
+        return player;
+    }
+
+    @Benchmark
+    public Player kitApply() {
+        kit.apply(player);
+        return player;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.managers;
+
+/**
+ * The level math XPManager used before the level table, kept as the reference the table is
+ * checked and benchmarked against. Same loops as before, with the curve passed in instead of
+ * the old BASE_XP / XP_MULTIPLIER constants.
+ */
+final class LegacyLevelMath {
+
+    private LegacyLevelMath() {
+    }
+
+    static int calculateLevel(int experience, int baseXp, double multiplier) {
+        if (experience <= 0) return 1;
+
+        int level = 1;
+        int requiredXP = baseXp;
+        int totalXP = 0;
+
+        while (totalXP + requiredXP <= experience) {
+            totalXP += requiredXP;
+            level++;
+            requiredXP = (int) (baseXp * Math.pow(multiplier, level - 1));
+        }
+
+        return level;
+    }
+
+    static int getXPForLevel(int level, int baseXp, double multiplier) {
+        if (level <= 1) return 0;
+
+        int totalXP = 0;
+        for (int i = 1; i < level; i++) {
+            totalXP += (int) (baseXp * Math.pow(multiplier, i - 1));
+        }
+        return totalXP;
+    }
+}
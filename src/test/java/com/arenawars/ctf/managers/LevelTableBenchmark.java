@@ -0,0 +1,68 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.managers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Old level loop against the level table, for a new, a regular and a veteran player.
+ * Run with {@code mvn -Pbench test -Dbench=LevelTableBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelTableBenchmark {
+
+    private static final int BASE_XP = 100;
+    private static final double MULTIPLIER = 1.5;
+
+    @Param({"500", "50000", "50000000"})
+    public int experience;
+
+    private XPManager.LevelTable table;
+    private int level;
+
+    @Setup
+    public void setUp() {
+        table = LevelTableTest.table(BASE_XP, MULTIPLIER);
+        level = table.calculateLevel(experience);
+    }
+
+    @Benchmark
+    public int calculateLevelLoop() {
+        return LegacyLevelMath.calculateLevel(experience, BASE_XP, MULTIPLIER);
+    }
+
+    @Benchmark
+    public int calculateLevelTable() {
+        return table.calculateLevel(experience);
+    }
+
+    @Benchmark
+    public int xpForLevelLoop() {
+        return LegacyLevelMath.getXPForLevel(level, BASE_XP, MULTIPLIER);
+    }
+
+    @Benchmark
+    public int xpForLevelTable() {
+        return table.getXPForLevel(level);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.managers;
+
+import com.arenawars.ctf.storage.PluginSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The level table must give exactly the levels of the old loop, for the default curve and a
+ * custom one, as long as the old loop's int arithmetic does not overflow.
+ */
+class LevelTableTest {
+
+    private static final int EXHAUSTIVE_LIMIT = 200_000;
+    private static final int RANDOM_SAMPLES = 1_800_000;
+    private static final int RANDOM_LIMIT = 1_000_000_000;
+
+    static XPManager.LevelTable table(int baseXp, double multiplier) {
+        return new XPManager.LevelTable(new PluginSettings.XPSettings(
+            true, 10, 50, 25, 100, 150, 20, baseXp, multiplier, 10));
+    }
+
+    @Test
+    void calculateLevelMatchesLoopForEveryExperienceUpTo200k() {
+        XPManager.LevelTable table = table(100, 1.5);
+
+        for (int experience = -5; experience <= EXHAUSTIVE_LIMIT; experience++) {
+            assertEquals(LegacyLevelMath.calculateLevel(experience, 100, 1.5), table.calculateLevel(experience),
+                "level at " + experience + " XP");
+        }
+    }
+
+    @Test
+    void calculateLevelMatchesLoopForRandomExperience() {
+        XPManager.LevelTable table = table(100, 1.5);
+        Random random = new Random(20250101L);
+
+        for (int i = 0; i < RANDOM_SAMPLES; i++) {
+            int experience = random.nextInt(RANDOM_LIMIT);
+            assertEquals(LegacyLevelMath.calculateLevel(experience, 100, 1.5), table.calculateLevel(experience),
+                "level at " + experience + " XP");
+        }
+    }
+
+    @Test
+    void calculateLevelMatchesLoopForCustomCurve() {
+        XPManager.LevelTable table = table(250, 1.2);
+
+        for (int experience = 0; experience <= EXHAUSTIVE_LIMIT; experience++) {
+            assertEquals(LegacyLevelMath.calculateLevel(experience, 250, 1.2), table.calculateLevel(experience),
+                "level at " + experience + " XP");
+        }
+    }
+
+    @Test
+    void getXPForLevelMatchesLoop() {
+        XPManager.LevelTable table = table(100, 1.5);
+
+        // Level 41 would start beyond Integer.MAX_VALUE, where the old loop overflows
+        for (int level = 0; level <= 40; level++) {
+            assertEquals(LegacyLevelMath.getXPForLevel(level, 100, 1.5), table.getXPForLevel(level),
+                "XP for level " + level);
+        }
+    }
+
+    @Test
+    void levelStartsExactlyAtItsXP() {
+        XPManager.LevelTable table = table(100, 1.5);
+
+        for (int level = 2; level <= 40; level++) {
+            int start = table.getXPForLevel(level);
+            assertEquals(level, table.calculateLevel(start), "level at its own start");
+            assertEquals(level - 1, table.calculateLevel(start - 1), "level just below " + level);
+        }
+    }
+}
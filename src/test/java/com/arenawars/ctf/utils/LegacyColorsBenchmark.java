@@ -0,0 +1,92 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regex color processing against the {@link LegacyColors} lexer, for colorize, toLegacy and
+ * strip. The short inputs repeat the way team names and scoreboard lines do and hit the cache;
+ * the long chat line is over the cache limit, so it measures the lexer alone. Run with
+ * {@code mvn -Pbench test -Dbench=LegacyColorsBenchmark}; the gc profiler shows the allocation
+ * per call next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegacyColorsBenchmark {
+
+    @Param({"team", "scoreboard", "hex", "chat"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        switch (input) {
+            case "team":
+                text = "&cRed";
+                break;
+            case "scoreboard":
+                text = "&7Captures: &e2&7/&e3";
+                break;
+            case "hex":
+                text = "&#FF5555&l[Lv 42] &#55FFFFNotch";
+                break;
+            default:
+                text = "&6[&eArenaWars&6] &7&eNotch &6has captured the &cRed &6flag! &a(2/3) "
+                    + "&7Return it to your base before the &#FFAA00enemy team &7catches you, "
+                    + "or &l&ncapture it again&r&7 to win the match.";
+                break;
+        }
+    }
+
+    @Benchmark
+    public Component colorizeRegex() {
+        return LegacyRegexColors.colorize(text);
+    }
+
+    @Benchmark
+    public Component colorizeLexer() {
+        return LegacyColors.toComponent(text);
+    }
+
+    @Benchmark
+    public String toLegacyRegex() {
+        return LegacyRegexColors.toLegacy(text);
+    }
+
+    @Benchmark
+    public String toLegacyLexer() {
+        return LegacyColors.toLegacy(text);
+    }
+
+    @Benchmark
+    public String stripRegex() {
+        return LegacyRegexColors.strip(text);
+    }
+
+    @Benchmark
+    public String stripLexer() {
+        return LegacyColors.strip(text);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex-based color processing ColorManager used before {@link LegacyColors}, kept as the
+ * baseline for the message and color benchmarks.
+ */
+final class LegacyRegexColors {
+
+    private static final Pattern HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
+    private static final LegacyComponentSerializer AMPERSAND = LegacyComponentSerializer.legacyAmpersand();
+
+    private LegacyRegexColors() {
+    }
+
+    static Component colorize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Component.empty();
+        }
+
+        String processedText = processHexColors(text);
+        processedText = processedText.replace('§', '&');
+        return AMPERSAND.deserialize(processedText);
+    }
+
+    static String toLegacy(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String processedText = processHexColors(text);
+        processedText = processedText.replace('&', '§');
+        return ChatColor.translateAlternateColorCodes('§', processedText);
+    }
+
+    static String strip(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String stripped = HEX_PATTERN.matcher(text).replaceAll("");
+        stripped = stripped.replaceAll("[&§][0-9a-fk-orA-FK-OR]", "");
+        return stripped;
+    }
+
+    private static String processHexColors(String text) {
+        Matcher matcher = HEX_PATTERN.matcher(text);
+        StringBuffer buffer = new StringBuffer();
+
+        while (matcher.find()) {
+            String hexCode = matcher.group(1);
+            matcher.appendReplacement(buffer, "§x§" +
+                hexCode.charAt(0) + "§" + hexCode.charAt(1) + "§" +
+                hexCode.charAt(2) + "§" + hexCode.charAt(3) + "§" +
+                hexCode.charAt(4) + "§" + hexCode.charAt(5));
+        }
+
+        matcher.appendTail(buffer);
+        return buffer.toString();
+    }
+}
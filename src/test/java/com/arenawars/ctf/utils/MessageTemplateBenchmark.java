@@ -0,0 +1,142 @@
+/*
+ * ArenaWarsCTF - Professional CTF Plugin
+ * Copyright (c) 2025 ArenaWars Development Team - All Rights Reserved
+ */
+
+package com.arenawars.ctf.utils;
+
+import com.arenawars.ctf.managers.ColorManager;
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rendering a chat message the old way (config lookup, placeholder map, one replace per
+ * placeholder, regex colorize) against the compiled templates, over every message in the
+ * bundled messages.yml. Each pass over the file uses the next of a few hundred sets of player
+ * names and numbers, so messages with placeholders render fresh text instead of hitting the
+ * color cache every time. Run with {@code mvn -Pbench test -Dbench=MessageTemplateBenchmark};
+ * the gc profiler reports the allocation per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([a-z-]+)}");
+    private static final int VARIANTS = 256;
+
+    private YamlConfiguration config;
+    private MessageUtil.CompiledMessages compiled;
+    private String[] paths;
+    private String[][][] args; // Value sets for every placeholder of the message at the same index
+    private int next;
+    private int variant;
+
+    @Setup
+    public void setUp() throws Exception {
+        try (InputStreamReader reader = new InputStreamReader(
+                MessageTemplateBenchmark.class.getResourceAsStream("/messages.yml"), StandardCharsets.UTF_8)) {
+            config = YamlConfiguration.loadConfiguration(reader);
+        }
+        compiled = MessageUtil.compile(config, new ColorManager());
+
+        List<String> messagePaths = new ArrayList<>();
+        List<String[][]> messageArgs = new ArrayList<>();
+        for (String path : config.getKeys(true)) {
+            if (!config.isString(path) || path.equals("prefix")) continue;
+
+            Set<String> keys = new LinkedHashSet<>();
+            Matcher matcher = PLACEHOLDER.matcher(config.getString(path));
+            while (matcher.find()) {
+                keys.add(matcher.group(1));
+            }
+
+            String[][] variants = new String[VARIANTS][];
+            for (int v = 0; v < VARIANTS; v++) {
+                String[] pairs = new String[keys.size() * 2];
+                int i = 0;
+                for (String key : keys) {
+                    pairs[i++] = key;
+                    pairs[i++] = sampleValue(key, v);
+                }
+                variants[v] = pairs;
+            }
+            messagePaths.add(path);
+            messageArgs.add(variants);
+        }
+        paths = messagePaths.toArray(new String[0]);
+        args = messageArgs.toArray(new String[0][][]);
+    }
+
+    @Benchmark
+    public Component legacyRender() {
+        int index = advance();
+        String message = config.getString("prefix", "Message not found: prefix")
+            + config.getString(paths[index], "Message not found: " + paths[index]);
+
+        Map<String, String> placeholders = MessageUtil.createPlaceholders(args[index][variant]);
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            message = message.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+        return LegacyRegexColors.colorize(message);
+    }
+
+    @Benchmark
+    public Component compiledRender() {
+        int index = advance();
+        return compiled.render(paths[index], args[index][variant]);
+    }
+
+    private int advance() {
+        int index = next;
+        if (index + 1 == paths.length) {
+            next = 0;
+            variant = variant + 1 == VARIANTS ? 0 : variant + 1;
+        } else {
+            next = index + 1;
+        }
+        return index;
+    }
+
+    // The color placeholder is followed by a legacy code in the message, so it takes one
+    private static String sampleValue(String key, int variant) {
+        switch (key) {
+            case "color":
+                return (variant & 1) == 0 ? "c" : "9";
+            case "player":
+                return "Player" + variant;
+            case "team":
+                return (variant & 1) == 0 ? "Red" : "Blue";
+            case "arena":
+                return "Canyon";
+            case "reason":
+                return "Not enough players";
+            default:
+                return String.valueOf(variant);
+        }
+    }
+}